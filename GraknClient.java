@@ -19,6 +19,8 @@
 
 package grakn.client;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import grabl.tracing.client.GrablTracingThreadStatic.ThreadTrace;
@@ -43,8 +45,18 @@ import grakn.client.concept.type.AttributeType;
 import grakn.client.concept.type.EntityType;
 import grakn.client.concept.type.RelationType;
 import grakn.client.exception.GraknClientException;
+import grakn.client.rpc.BulkLoader;
+import grakn.client.rpc.ChannelPool;
+import grakn.client.rpc.ConceptFactCache;
+import grakn.client.rpc.Flow;
+import grakn.client.rpc.PreparedQuery;
 import grakn.client.rpc.RequestBuilder;
 import grakn.client.rpc.ResponseReader;
+import grakn.client.rpc.ResultCache;
+import grakn.client.rpc.RetryPolicy;
+import grakn.client.rpc.SchemaCache;
+import grakn.client.rpc.SessionPool;
+import grakn.client.rpc.TransactionPool;
 import grakn.client.rpc.Transceiver;
 import grakn.protocol.keyspace.KeyspaceProto;
 import grakn.protocol.keyspace.KeyspaceServiceGrpc;
@@ -62,9 +74,14 @@ import graql.lang.query.GraqlGet;
 import graql.lang.query.GraqlInsert;
 import graql.lang.query.GraqlQuery;
 import graql.lang.query.GraqlUndefine;
+import io.grpc.CompressorRegistry;
+import io.grpc.Deadline;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
@@ -74,10 +91,18 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -93,10 +118,12 @@ public class GraknClient implements AutoCloseable {
 
     public static final String DEFAULT_URI = "localhost:48555";
 
-    private ManagedChannel channel;
+    private ChannelPool channels;
     private String username;
     private String password;
     private Keyspaces keyspaces;
+    private final List<SessionPool> sessionPools = new CopyOnWriteArrayList<>();
+    private final AtomicLong writeCommits = new AtomicLong();
 
     public GraknClient() {
         this(DEFAULT_URI);
@@ -107,40 +134,250 @@ public class GraknClient implements AutoCloseable {
     }
 
     public GraknClient(String address, String username, String password) {
-        channel = ManagedChannelBuilder.forTarget(address)
-                .usePlaintext().build();
-        this.username = username;
-        this.password = password;
-        keyspaces = new Keyspaces(channel, this.username, this.password);
+        this(address, username, password, 1);
     }
 
+    /**
+     * @param channels the number of connections to open to the server; transactions are spread across them
+     *                 round-robin, which helps when many threads are running transactions at the same time
+     */
+    public GraknClient(String address, String username, String password, int channels) {
+        this(new Builder().address(address).credentials(username, password).channels(channels));
+    }
+
+    private GraknClient(Builder builder) {
+        this.channels = ChannelPool.create(builder.channels, builder::buildChannel);
+        this.username = builder.username;
+        this.password = builder.password;
+        keyspaces = new Keyspaces(this.channels.next(), this.username, this.password);
+    }
+
+    /**
+     * Replaces the channels this client was built with, which are shut down. Sessions opened afterwards, and the
+     * keyspace operations, use the given channel.
+     */
     public GraknClient overrideChannel(ManagedChannel channel) {
-        this.channel = channel;
+        this.channels.shutdown();
+        this.channels = ChannelPool.of(channel);
+        this.keyspaces = new Keyspaces(channel, this.username, this.password);
         return this;
     }
 
 
     public void close() {
-        channel.shutdown();
+        sessionPools.forEach(SessionPool::close);
+        channels.shutdown();
         try {
-            channel.awaitTermination(10, TimeUnit.SECONDS);
+            channels.awaitTermination(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
 
     public boolean isOpen() {
-        return !channel.isShutdown() || !channel.isTerminated();
+        return !channels.isShutdown() || !channels.isTerminated();
     }
 
     public Session session(String keyspace) {
-        return new Session(channel, username, password, keyspace);
+        return new Session(channels, writeCommits, username, password, keyspace);
+    }
+
+    /**
+     * Creates a pool that shares one session per keyspace between everyone who asks for it, so that borrowing a
+     * session does not cost an open and a close RPC. A session is closed once it has not been borrowed for the given
+     * idle timeout. The pool is closed along with this client.
+     */
+    public SessionPool sessionPool(long idleTimeout, TimeUnit unit) {
+        SessionPool pool = new SessionPool(this, idleTimeout, unit, sessionPools::remove);
+        sessionPools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Opens a session without blocking the calling thread, so that sessions on many keyspaces can be opened at once.
+     */
+    public CompletableFuture<Session> sessionAsync(String keyspace) {
+        ManagedChannel channel = channels.next();
+        CompletableFuture<SessionProto.Session.Open.Res> opened = new CompletableFuture<>();
+        SessionServiceGrpc.newStub(channel).open(Session.openRequest(keyspace, username, password), new UnaryObserver<>(opened));
+        return opened.thenApply(response -> new Session(channels, writeCommits, channel, username, password, keyspace, response.getSessionId()));
     }
 
     public Keyspaces keyspaces() {
         return keyspaces;
     }
 
+    /**
+     * Completes a future with the single response of a unary call.
+     */
+    private static class UnaryObserver<T> implements StreamObserver<T> {
+
+        private final CompletableFuture<T> future;
+
+        UnaryObserver(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onNext(T response) {
+            future.complete(response);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            future.completeExceptionally(error);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+
+    private static String checkCompressor(String compressorName) {
+        if (CompressorRegistry.getDefaultInstance().lookupCompressor(compressorName) == null) {
+            throw new IllegalArgumentException("No compressor is registered with the name: " + compressorName);
+        }
+        return compressorName;
+    }
+
+    /**
+     * Builds a GraknClient with transport settings other than the gRPC defaults. Every channel of the client, and so
+     * every session, transaction and keyspace operation, uses the same settings.
+     */
+    public static class Builder {
+
+        private String address = DEFAULT_URI;
+        private String username;
+        private String password;
+        private int channels = 1;
+        private Integer flowControlWindow;
+        private Integer maxInboundMessageSize;
+        private Long keepAliveTimeNanos;
+        private Long keepAliveTimeoutNanos;
+        private boolean keepAliveWithoutCalls;
+        private Long idleTimeoutNanos;
+        private Executor executor;
+        private boolean directExecutor;
+        private EventLoopGroup eventLoopGroup;
+        private Class<? extends Channel> channelType;
+
+        public Builder address(String address) {
+            this.address = address;
+            return this;
+        }
+
+        public Builder credentials(String username, String password) {
+            this.username = username;
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * The number of connections to open to the server, see GraknClient(String, String, String, int)
+         */
+        public Builder channels(int channels) {
+            this.channels = channels;
+            return this;
+        }
+
+        /**
+         * The initial HTTP/2 flow-control window, in bytes, of each connection. A larger window lets the server send
+         * more answers before waiting for the client to acknowledge them, which matters on high latency links.
+         */
+        public Builder flowControlWindow(int bytes) {
+            this.flowControlWindow = bytes;
+            return this;
+        }
+
+        /**
+         * The largest single response the client accepts, which limits how large a batch of answers can be.
+         */
+        public Builder maxInboundMessageSize(int bytes) {
+            this.maxInboundMessageSize = bytes;
+            return this;
+        }
+
+        /**
+         * Ping the server after the connection has been silent for the given time, and drop the connection if the
+         * ping is not answered within the timeout.
+         */
+        public Builder keepAlive(long time, long timeout, TimeUnit unit) {
+            this.keepAliveTimeNanos = unit.toNanos(time);
+            this.keepAliveTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Whether to keep pinging the server while no transaction is open.
+         */
+        public Builder keepAliveWithoutCalls(boolean keepAliveWithoutCalls) {
+            this.keepAliveWithoutCalls = keepAliveWithoutCalls;
+            return this;
+        }
+
+        /**
+         * Close the connection once no transaction has been open for the given time. It is reopened on demand.
+         */
+        public Builder idleTimeout(long time, TimeUnit unit) {
+            this.idleTimeoutNanos = unit.toNanos(time);
+            return this;
+        }
+
+        /**
+         * The executor that runs response callbacks. By default gRPC uses a shared cached thread pool.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            this.directExecutor = false;
+            return this;
+        }
+
+        /**
+         * Run response callbacks on the network threads. This saves a thread hop per response, but dependent stages
+         * of the futures returned by the *Async methods then also run on the network threads, so they must not block.
+         */
+        public Builder directExecutor() {
+            this.directExecutor = true;
+            this.executor = null;
+            return this;
+        }
+
+        /**
+         * The Netty event loop group to do network IO on, with the channel type that matches it, for example
+         * NioEventLoopGroup with NioSocketChannel. The group is not shut down when the client is closed.
+         */
+        public Builder eventLoopGroup(EventLoopGroup eventLoopGroup, Class<? extends Channel> channelType) {
+            this.eventLoopGroup = eventLoopGroup;
+            this.channelType = channelType;
+            return this;
+        }
+
+        public GraknClient build() {
+            return new GraknClient(this);
+        }
+
+        private ManagedChannel buildChannel() {
+            NettyChannelBuilder builder = NettyChannelBuilder.forTarget(address).usePlaintext();
+            if (flowControlWindow != null) builder.flowControlWindow(flowControlWindow);
+            if (maxInboundMessageSize != null) builder.maxInboundMessageSize(maxInboundMessageSize);
+            if (keepAliveTimeNanos != null) {
+                builder.keepAliveTime(keepAliveTimeNanos, TimeUnit.NANOSECONDS)
+                        .keepAliveTimeout(keepAliveTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            builder.keepAliveWithoutCalls(keepAliveWithoutCalls);
+            if (idleTimeoutNanos != null) builder.idleTimeout(idleTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (directExecutor) {
+                builder.directExecutor();
+            } else if (executor != null) {
+                builder.executor(executor);
+            }
+            if (eventLoopGroup != null) {
+                builder.eventLoopGroup(eventLoopGroup).channelType(channelType);
+            }
+            return builder.build();
+        }
+    }
+
     /**
      * @see Transaction
      * @see GraknClient
@@ -148,20 +385,48 @@ public class GraknClient implements AutoCloseable {
     public static class Session implements AutoCloseable {
 
         protected ManagedChannel channel;
+        private final ChannelPool channels;
         private String username; // TODO: Do we need to save this? It's not used.
         private String password; // TODO: Do we need to save this? It's not used.
         protected String keyspace;
         protected SessionServiceGrpc.SessionServiceBlockingStub sessionStub;
         protected String sessionId;
-        protected boolean isOpen;
+        protected volatile boolean isOpen;
+        private volatile SchemaCache schemaCache;
+        private volatile ResultCache resultCache;
+        private final AtomicLong writeCommits;
+        private volatile String compression;
+        @Nullable
+        private SessionPool pool;
+        private final List<TransactionPool> transactionPools = new CopyOnWriteArrayList<>();
+
+        private Session(ChannelPool channels, AtomicLong writeCommits, String username, String password, String keyspace) {
+            this.username = username;
+            this.password = password;
+            this.keyspace = keyspace;
+            this.channels = channels;
+            this.writeCommits = writeCommits;
+            this.channel = channels.next();
+            this.sessionStub = SessionServiceGrpc.newBlockingStub(channel);
 
-        private Session(ManagedChannel channel, String username, String password, String keyspace) {
+            SessionProto.Session.Open.Res response = sessionStub.open(openRequest(keyspace, username, password));
+            sessionId = response.getSessionId();
+            isOpen = true;
+        }
+
+        private Session(ChannelPool channels, AtomicLong writeCommits, ManagedChannel channel, String username, String password, String keyspace, String sessionId) {
             this.username = username;
             this.password = password;
             this.keyspace = keyspace;
+            this.channels = channels;
+            this.writeCommits = writeCommits;
             this.channel = channel;
             this.sessionStub = SessionServiceGrpc.newBlockingStub(channel);
+            this.sessionId = sessionId;
+            isOpen = true;
+        }
 
+        private static SessionProto.Session.Open.Req openRequest(String keyspace, String username, String password) {
             SessionProto.Session.Open.Req.Builder open = RequestBuilder.Session.open(keyspace).newBuilderForType();
             if (username != null) {
                 open = open.setUsername(username);
@@ -169,29 +434,129 @@ public class GraknClient implements AutoCloseable {
             if (password != null) {
                 open = open.setPassword(password);
             }
-            open = open.setKeyspace(keyspace);
-
-            SessionProto.Session.Open.Res response = sessionStub.open(open.build());
-            sessionId = response.getSessionId();
-            isOpen = true;
+            return open.setKeyspace(keyspace).build();
         }
 
         public GraknClient.Transaction.Builder transaction() {
-            return new Transaction.Builder(channel, this, sessionId);
+            return new Transaction.Builder(channels.next(), this, sessionId);
         }
 
         public GraknClient.Transaction transaction(Transaction.Type type) {
-            return new Transaction(channel, this, sessionId, type);
+            return new Transaction(channels.next(), this, sessionId, type);
         }
 
         public boolean isOpen() {
             return isOpen;
         }
 
+        /**
+         * Answer schema concept lookups by label, such as Transaction#getSchemaConcept(Label) and the getMeta*()
+         * methods, and walks of the schema hierarchy, such as sups(), subs(), keys(), attributes(), playing() and
+         * roles(), from a snapshot of the schema shared by the transactions of this session. The snapshot is dropped
+         * when a transaction of this session commits a schema change, and reloaded once older than maxAge, which
+         * bounds how long schema changes made by other clients go unseen.
+         */
+        public Session cacheSchema(long maxAge, TimeUnit unit) {
+            this.schemaCache = new SchemaCache(maxAge, unit);
+            return this;
+        }
+
+        /**
+         * Answer GraqlGet and GraqlGet.Aggregate queries run in READ transactions of this session from a cache of the
+         * answers to earlier runs of the same query with the same inference setting. At most maximumAnswers answers
+         * are cached in all, evicting the least recently used queries, and each for at most timeToLive. A query with
+         * more than maximumAnswersPerQuery answers is not cached. The cache is emptied whenever a WRITE transaction
+         * opened through the same client commits; writes made by other clients are only seen once the cached answers
+         * expire. Queries that ask for explanations are not cached.
+         *
+         * Answers are not held back while the cache is filled: they reach the consumer as they arrive, and are cached
+         * once the consumer has read the last one. Cached answers are detached from the transaction that received
+         * them: their concepts are Concept.Local copies, and they are shared between everyone who gets them from the
+         * cache.
+         */
+        public Session cacheResults(long maximumAnswers, int maximumAnswersPerQuery, long timeToLive, TimeUnit unit) {
+            this.resultCache = new ResultCache(maximumAnswers, maximumAnswersPerQuery, timeToLive, unit, writeCommits);
+            return this;
+        }
+
+        /**
+         * Compress the requests this session's transactions send with the named codec, such as "gzip", unless a
+         * transaction is opened with its own Transaction.Builder#compression(String). Only requests are compressed,
+         * and they are mostly short queries. The answers the server sends back are unaffected: gRPC tells the server
+         * which codecs the client can read whether this is set or not, and the server decides for itself whether to
+         * compress them.
+         */
+        public Session compression(String compressorName) {
+            this.compression = checkCompressor(compressorName);
+            return this;
+        }
+
+        /**
+         * Closes the session. A session borrowed from a SessionPool belongs to the pool, so closing it does nothing:
+         * it is given back by closing the SessionPool.Lease it was borrowed with.
+         */
         public void close() {
-            if (!isOpen) return;
+            if (pool != null) return;
+            closeSession();
+        }
+
+        /**
+         * Creates a pool of READ transactions that are opened ahead of time and reused, so that a short read does not
+         * wait for a transaction to open. A READ transaction sees the data as of when it was opened, so maxAge bounds
+         * how stale a pooled transaction can be. A transaction is also replaced once it has run maxQueries queries, or
+         * as soon as it fails. The pool is closed along with this session.
+         *
+         * @param size the number of transactions to keep open and ready
+         */
+        public TransactionPool readTransactionPool(int size, long maxAge, TimeUnit unit, int maxQueries) {
+            TransactionPool pool = new TransactionPool(this, size, maxAge, unit, maxQueries, transactionPools::remove);
+            transactionPools.add(pool);
+            return pool;
+        }
+
+        /**
+         * Configures a BulkLoader, which loads a stream of insert queries through several WRITE transactions of this
+         * session in parallel.
+         */
+        public BulkLoader.Builder bulkLoader() {
+            return new BulkLoader.Builder(this);
+        }
+
+        /**
+         * Hands this session to the pool that opened it, so that only the pool closes it. Used by SessionPool.
+         */
+        public void pooledBy(SessionPool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Closes the session even if it belongs to a SessionPool, as the pool does when it evicts it.
+         */
+        public void closeSession() {
+            if (!markClosed()) return;
+            transactionPools.forEach(TransactionPool::close);
             sessionStub.close(RequestBuilder.Session.close(sessionId));
+        }
+
+        /**
+         * Closes the session without blocking the calling thread. Like #close(), it does nothing for a session that
+         * belongs to a SessionPool.
+         */
+        public CompletableFuture<java.lang.Void> closeAsync() {
+            if (pool != null || !markClosed()) return CompletableFuture.completedFuture(null);
+            transactionPools.forEach(TransactionPool::close);
+            CompletableFuture<SessionProto.Session.Close.Res> closed = new CompletableFuture<>();
+            SessionServiceGrpc.newStub(channel).close(RequestBuilder.Session.close(sessionId), new UnaryObserver<>(closed));
+            return closed.thenApply(res -> null);
+        }
+
+        /**
+         * @return false if the session was already closed, so that only the first close sends Session.close
+         */
+        private synchronized boolean markClosed() {
+            if (!isOpen) return false;
             isOpen = false;
+            return true;
         }
 
         public Keyspace keyspace() {
@@ -199,31 +564,128 @@ public class GraknClient implements AutoCloseable {
         }
     }
 
+    /**
+     * A transaction may be used from many threads at once: queries and concept methods can be issued concurrently, and
+     * each response is routed to the request that asked for it, in the order the requests were sent. This lets many
+     * workers share the snapshot of one READ transaction. The futures, streams and iterators a transaction returns
+     * are each meant for a single consumer.
+     */
     public static class Transaction implements AutoCloseable {
+        private static final int PATTERN_CACHE_SIZE = 1_000;
+
         private final Session session;
         private final Type type;
-        private final Transceiver transceiver;
+        private final Builder builder;
+        @Nullable
+        private final Deadline deadline;
+        private volatile Transceiver transceiver;
+        @Nullable
+        private final RetryPolicy retryPolicy;
+        @Nullable
+        private final ConceptFactCache factCache;
+        private volatile boolean schemaChanged;
+        private final Cache<String, Pattern> patternCache = CacheBuilder.newBuilder().maximumSize(PATTERN_CACHE_SIZE).build();
 
-        private int currentIteratorId = 1;
+        @Nullable
+        private TransactionPool pool;
+        private final long openedNanos = System.nanoTime();
+        private final AtomicInteger queries = new AtomicInteger();
+        private final AtomicReference<Exception> pipelineError = new AtomicReference<>();
+        private volatile boolean commitSent;
 
         public static class Builder {
 
             private ManagedChannel channel;
             private GraknClient.Session session;
             private String sessionId;
+            private int maxBufferedResponses = Integer.MAX_VALUE;
+            private long maxBufferedBytes = Long.MAX_VALUE;
+            private boolean cacheConceptFacts;
+            private String compression;
+            private long deadlineNanos;
+            private RetryPolicy retryPolicy;
 
             public Builder(ManagedChannel channel, GraknClient.Session session, String sessionId) {
                 this.channel = channel;
                 this.session = session;
                 this.sessionId = sessionId;
+                this.compression = session.compression;
+            }
+
+            /**
+             * Stop reading responses from the server while this many responses are buffered and not yet consumed.
+             * Unbounded by default. With a bound, the answers to queries not yet read in full are discarded when the
+             * transaction commits or closes, so that they cannot hold back the commit, and reading on from them throws.
+             */
+            public Builder maxBufferedResponses(int responses) {
+                if (responses < 1) {
+                    throw new IllegalArgumentException("Buffered responses cannot be less than 1, was: " + responses);
+                }
+                this.maxBufferedResponses = responses;
+                return this;
+            }
+
+            /**
+             * Stop reading responses from the server while this many bytes of responses are buffered and not yet
+             * consumed. Responses are then read one at a time, as the size of each is only known once it arrives, so
+             * the buffer can exceed the bound by at most one response. Unbounded by default. Unread answers are
+             * discarded on commit and close, as with #maxBufferedResponses(int).
+             */
+            public Builder maxBufferedBytes(long bytes) {
+                if (bytes < 1) {
+                    throw new IllegalArgumentException("Buffered bytes cannot be less than 1, was: " + bytes);
+                }
+                this.maxBufferedBytes = bytes;
+                return this;
+            }
+
+            /**
+             * Cache concept facts that cannot change within the transaction, such as the type of a thing or the value
+             * of an attribute, instead of asking the server for them on every call. Disabled by default.
+             */
+            public Builder cacheConceptFacts(boolean cacheConceptFacts) {
+                this.cacheConceptFacts = cacheConceptFacts;
+                return this;
+            }
+
+            /**
+             * Compress the requests this transaction sends with the named codec, such as "gzip", or not at all if
+             * null. Only requests are compressed, not the answers the server sends back. Defaults to the compression of
+             * the session.
+             */
+            public Builder compression(@Nullable String compressorName) {
+                this.compression = compressorName == null ? null : checkCompressor(compressorName);
+                return this;
+            }
+
+            /**
+             * Bound the whole life of the transaction, starting with its open, to the given timeout. Once it passes,
+             * the gRPC call is cancelled, so the server stops working on the transaction, and every request still
+             * waiting for a response fails.
+             */
+            public Builder deadline(long timeout, TimeUnit unit) {
+                if (timeout <= 0) {
+                    throw new IllegalArgumentException("Deadline must be in the future, was: " + timeout + " " + unit);
+                }
+                this.deadlineNanos = unit.toNanos(timeout);
+                return this;
+            }
+
+            /**
+             * Retry queries that fail with a transient error according to the given policy. Only applies to READ
+             * transactions, as only their queries can be replayed safely.
+             */
+            public Builder retryPolicy(RetryPolicy retryPolicy) {
+                this.retryPolicy = retryPolicy;
+                return this;
             }
 
             public GraknClient.Transaction read() {
-                return new GraknClient.Transaction(channel, session, sessionId, Transaction.Type.READ);
+                return new GraknClient.Transaction(this, Transaction.Type.READ);
             }
 
             public GraknClient.Transaction write() {
-                return new GraknClient.Transaction(channel, session, sessionId, Transaction.Type.WRITE);
+                return new GraknClient.Transaction(this, Transaction.Type.WRITE);
             }
         }
 
@@ -262,11 +724,49 @@ public class GraknClient implements AutoCloseable {
         }
 
         private Transaction(ManagedChannel channel, Session session, String sessionId, Type type) {
+            this(new Builder(channel, session, sessionId), type);
+        }
+
+        private Transaction(Builder builder, Type type) {
             try (ThreadTrace trace = traceOnThread(type == Type.WRITE ? "tx.write" : "tx.read")) {
-                this.transceiver = Transceiver.create(SessionServiceGrpc.newStub(channel));
-                this.session = session;
+                this.builder = builder;
+                this.deadline = builder.deadlineNanos > 0 ? Deadline.after(builder.deadlineNanos, TimeUnit.NANOSECONDS) : null;
+                this.session = builder.session;
                 this.type = type;
-                sendAndReceiveOrThrow(RequestBuilder.Transaction.open(sessionId, type));
+                this.retryPolicy = builder.retryPolicy;
+                this.factCache = builder.cacheConceptFacts ? new ConceptFactCache() : null;
+                this.transceiver = openTransceiver();
+            }
+        }
+
+        private Transceiver openTransceiver() {
+            SessionServiceGrpc.SessionServiceStub stub = SessionServiceGrpc.newStub(builder.channel);
+            if (builder.compression != null) {
+                stub = stub.withCompression(builder.compression);
+            }
+            if (deadline != null) {
+                stub = stub.withDeadline(deadline);
+            }
+            Transceiver opened = Transceiver.create(stub, builder.maxBufferedResponses, builder.maxBufferedBytes);
+            try {
+                opened.sendAndReceive(RequestBuilder.Transaction.open(builder.sessionId, type));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                opened.close();
+                throw new RuntimeException(e);
+            } catch (RuntimeException e) {
+                opened.close();
+                throw e;
+            }
+            return opened;
+        }
+
+        /**
+         * Replace a failed stream with a newly opened transaction, unless another query has done so already.
+         */
+        private synchronized void reopen(Transceiver failed) {
+            if (transceiver == failed || !transceiver.isOpen()) {
+                transceiver = openTransceiver();
             }
         }
 
@@ -314,6 +814,10 @@ public class GraknClient implements AutoCloseable {
 
         public QueryFuture<List<ConceptMap>> execute(GraqlGet query, QueryOptions options) {
             try (ThreadTrace trace = traceOnThread("tx.execute.get")) {
+                ResultCache resultCache = resultCache(options);
+                if (resultCache != null) {
+                    return cachedInternal(query, options, resultCache, ArrayList::new, QueryExecuteFuture::new);
+                }
                 return executeInternal(query, options);
             }
         }
@@ -351,8 +855,40 @@ public class GraknClient implements AutoCloseable {
             return stream(query, Options.DEFAULT);
         }
 
+        public <T extends Answer> QueryFuture<List<T>> execute(PreparedQuery.Bound query) {
+            try (ThreadTrace trace = traceOnThread("tx.execute.prepared")) {
+                return executeInternal(query.template(), query.toString(), Options.DEFAULT);
+            }
+        }
+
+        /**
+         * Run a prepared query, whose answers are of the type the query's kind would give, such as ConceptMap for a
+         * get or an insert.
+         */
+        public <T extends Answer> QueryFuture<List<T>> execute(PreparedQuery.Bound query, QueryOptions options) {
+            try (ThreadTrace trace = traceOnThread("tx.execute.prepared")) {
+                return executeInternal(query.template(), query.toString(), options);
+            }
+        }
+
+        public <T extends Answer> QueryFuture<Stream<T>> stream(PreparedQuery.Bound query) {
+            try (ThreadTrace trace = traceOnThread("tx.stream.prepared")) {
+                return streamInternal(query.template(), query.toString(), Options.DEFAULT);
+            }
+        }
+
+        public <T extends Answer> QueryFuture<Stream<T>> stream(PreparedQuery.Bound query, QueryOptions options) {
+            try (ThreadTrace trace = traceOnThread("tx.stream.prepared")) {
+                return streamInternal(query.template(), query.toString(), options);
+            }
+        }
+
         public QueryFuture<Stream<ConceptMap>> stream(GraqlGet query, QueryOptions options) {
             try (ThreadTrace trace = traceOnThread("tx.stream.get")) {
+                ResultCache resultCache = resultCache(options);
+                if (resultCache != null) {
+                    return cachedInternal(query, options, resultCache, List::stream, QueryStreamFuture::new);
+                }
                 return streamInternal(query, options);
             }
         }
@@ -368,6 +904,10 @@ public class GraknClient implements AutoCloseable {
 
         public QueryFuture<List<Numeric>> execute(GraqlGet.Aggregate query, QueryOptions options) {
             try (ThreadTrace trace = traceOnThread("tx.execute.get.aggregate")) {
+                ResultCache resultCache = resultCache(options);
+                if (resultCache != null) {
+                    return cachedInternal(query, options, resultCache, ArrayList::new, QueryExecuteFuture::new);
+                }
                 return executeInternal(query, options);
             }
         }
@@ -378,6 +918,10 @@ public class GraknClient implements AutoCloseable {
 
         public QueryFuture<Stream<Numeric>> stream(GraqlGet.Aggregate query, QueryOptions options) {
             try (ThreadTrace trace = traceOnThread("tx.stream.get.aggregate")) {
+                ResultCache resultCache = resultCache(options);
+                if (resultCache != null) {
+                    return cachedInternal(query, options, resultCache, List::stream, QueryStreamFuture::new);
+                }
                 return streamInternal(query, options);
             }
         }
@@ -572,28 +1116,225 @@ public class GraknClient implements AutoCloseable {
             }
         }
 
-        private <T> RPCIterator<T> getQueryIterator(GraqlQuery query, QueryOptions options) {
-            return new RPCIterator<>(RequestBuilder.Transaction.query(query.toString(), options),
+        /**
+         * Send an insert without waiting for it to complete, and discard its answers. Many inserts can be sent back to
+         * back this way, paying one round trip for all of them rather than one each. If one fails, commit() throws its
+         * error instead of committing.
+         */
+        public void pipeline(GraqlInsert query) {
+            try (ThreadTrace trace = traceOnThread("tx.pipeline.insert")) {
+                pipelineInternal(query);
+            }
+        }
+
+        /**
+         * Send a delete without waiting for it to complete, and discard its answers.
+         *
+         * @see #pipeline(GraqlInsert)
+         */
+        public void pipeline(GraqlDelete query) {
+            try (ThreadTrace trace = traceOnThread("tx.pipeline.delete")) {
+                pipelineInternal(query);
+            }
+        }
+
+        /**
+         * Send a prepared insert or delete without waiting for it to complete, and discard its answers.
+         *
+         * @see #pipeline(GraqlInsert)
+         */
+        public void pipeline(PreparedQuery.Bound query) {
+            if (!(query.template() instanceof GraqlInsert || query.template() instanceof GraqlDelete)) {
+                throw new IllegalArgumentException("Only inserts and deletes can be pipelined, but was: " + query);
+            }
+            try (ThreadTrace trace = traceOnThread("tx.pipeline.prepared")) {
+                pipelineInternal(query.template(), query.toString());
+            }
+        }
+
+        private void pipelineInternal(GraqlQuery query) {
+            pipelineInternal(query, query.toString());
+        }
+
+        private void pipelineInternal(GraqlQuery query, String queryString) {
+            beforeExecuting(query);
+            SessionProto.Transaction.Req request = SessionProto.Transaction.Req.newBuilder()
+                    .setIterReq(RequestBuilder.Transaction.query(queryString, Options.batchSize(BatchSize.ALL))).build();
+            try {
+                transceiver.sendAndReceiveMultipleAsync(request, new PipelinedQuery());
+            } catch (GraknClientException e) {
+                // The stream has broken, so report what broke it, as seen by an earlier pipelined query, if known
+                GraknClientException pipelined = pipelineFailure();
+                throw pipelined != null ? pipelined : e;
+            }
+        }
+
+        /**
+         * @return a new exception for the first error of a pipelined query, or null if none has failed. Each throw
+         * gets its own exception, so that suppressing other failures on it never adds to an earlier one.
+         */
+        @Nullable
+        private GraknClientException pipelineFailure() {
+            Exception error = pipelineError.get();
+            return error == null ? null : GraknClientException.create(error.getMessage(), error);
+        }
+
+        /**
+         * Drops the answers of a pipelined query as they arrive, keeping only the first error of any pipelined query.
+         */
+        private class PipelinedQuery implements Transceiver.ResponseCollector {
+            @Override
+            public boolean onResponse(Transceiver.Response response) {
+                switch (response.type()) {
+                    case OK:
+                        SessionProto.Transaction.Iter.Res res = response.ok().getIterRes();
+                        return res.getDone() || res.getIteratorId() != 0;
+                    case ERROR:
+                        Exception error = response.error();
+                        pipelineError.compareAndSet(null, error);
+                        return true;
+                    default:
+                        return true;
+                }
+            }
+        }
+
+        public <T extends Answer> Flow.Publisher<T> publish(GraqlQuery query) {
+            return publish(query, Options.DEFAULT);
+        }
+
+        /**
+         * Publish the answers to a query on demand. Outstanding demand is requested from the server in batches of at
+         * most the query's batch size, or 50 answers if it has none, and no further batches are requested once the
+         * demand is met or the subscription is cancelled. Signals are delivered on the gRPC thread, so subscribers
+         * must not block.
+         */
+        public <T extends Answer> Flow.Publisher<T> publish(GraqlQuery query, QueryOptions options) {
+            beforeExecuting(query);
+            return new QueryPublisher<>(query.toString(), options);
+        }
+
+        private <T> RPCIterator<T> getQueryIterator(String query, QueryOptions options) {
+            return new RPCIterator<>(RequestBuilder.Transaction.query(query, options), options,
                     response -> ResponseReader.answer(response.getQueryIterRes().getAnswer(), this));
         }
 
-        private <T extends Answer> QueryFuture<List<T>> executeInternal(GraqlQuery query) {
-            return executeInternal(query, Options.DEFAULT);
+        private <T extends Answer> QueryFuture<List<T>> executeInternal(GraqlQuery query) {
+            return executeInternal(query, Options.DEFAULT);
+        }
+
+        private <T extends Answer> QueryFuture<List<T>> executeInternal(GraqlQuery query, QueryOptions options) {
+            return executeInternal(query, query.toString(), options);
+        }
+
+        private <T extends Answer> QueryFuture<List<T>> executeInternal(GraqlQuery query, String queryString, QueryOptions options) {
+            beforeExecuting(query);
+            return new QueryExecuteFuture<>(getQueryIterator(queryString, options));
+        }
+
+        private <T extends Answer> QueryFuture<Stream<T>> streamInternal(GraqlQuery query) {
+            return streamInternal(query, Options.DEFAULT);
+        }
+
+        private <T extends Answer> QueryFuture<Stream<T>> streamInternal(GraqlQuery query, QueryOptions options) {
+            return streamInternal(query, query.toString(), options);
+        }
+
+        private <T extends Answer> QueryFuture<Stream<T>> streamInternal(GraqlQuery query, String queryString, QueryOptions options) {
+            beforeExecuting(query);
+            return new QueryStreamFuture<>(getQueryIterator(queryString, options));
+        }
+
+        /**
+         * @return the session's result cache if this query may be answered from it, or null if it must go to the server
+         */
+        @Nullable
+        private ResultCache resultCache(QueryOptions options) {
+            ResultCache resultCache = session.resultCache;
+            if (resultCache == null || type != Type.READ) {
+                return null;
+            }
+            AtomicBoolean explain = new AtomicBoolean();
+            options.whenSet(BooleanOption.EXPLAIN, explain::set);
+            return explain.get() ? null : resultCache;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Answer, R> QueryFuture<R> cachedInternal(GraqlQuery query, QueryOptions options, ResultCache resultCache,
+                                                                  Function<List<T>, R> fromCache,
+                                                                  Function<RPCIterator<T>, QueryFuture<R>> fromServer) {
+            beforeExecuting(query);
+            AtomicReference<Boolean> infer = new AtomicReference<>();
+            options.whenSet(BooleanOption.INFER, infer::set);
+            ResultCache.Key key = new ResultCache.Key(query.toString(), infer.get());
+            List<Answer> cached = resultCache.get(key);
+            if (cached != null) {
+                return new CachedQueryFuture<>(fromCache.apply((List<T>) (List<?>) cached));
+            }
+            ResultCache.Filler filler = resultCache.filler(key);
+            RPCIterator<T> iterator = new RPCIterator<>(RequestBuilder.Transaction.query(key.query(), options), options, response -> {
+                T answer = ResponseReader.detachedAnswer(response.getQueryIterRes().getAnswer(), this::parsePattern);
+                filler.decoded(response, answer);
+                return answer;
+            });
+            // Answers may be decoded out of order by a parallel stream, so the filler keeps them in the order pulled
+            iterator.onPulled(filler::pulled);
+            iterator.onFinished(filler::finish);
+            return fromServer.apply(iterator);
+        }
+
+        private void beforeExecuting(GraqlQuery query) {
+            queries.incrementAndGet();
+            if (factCache != null && (query instanceof GraqlDelete || query instanceof GraqlUndefine)) {
+                factCache.clear();
+            }
+            if (query instanceof GraqlDefine || query instanceof GraqlUndefine) {
+                schemaChanged = true;
+            }
+        }
+
+        /**
+         * Closes the transaction. A transaction borrowed from a TransactionPool belongs to the pool, so closing it
+         * does nothing: it is given back by closing the TransactionPool.Lease it was borrowed with.
+         */
+        public void close() {
+            if (pool != null) return;
+            closeTransaction();
+        }
+
+        /**
+         * Hands this transaction to the pool that opened it, so that only the pool closes it. Used by TransactionPool.
+         */
+        public void pooledBy(TransactionPool pool) {
+            this.pool = pool;
         }
 
-        private <T extends Answer> QueryFuture<List<T>> executeInternal(GraqlQuery query, QueryOptions options) {
-            return new QueryExecuteFuture<>(getQueryIterator(query, options));
+        /**
+         * @return how long ago this transaction was opened
+         */
+        public long ageNanos() {
+            return System.nanoTime() - openedNanos;
         }
 
-        private <T extends Answer> QueryFuture<Stream<T>> streamInternal(GraqlQuery query) {
-            return streamInternal(query, Options.DEFAULT);
+        /**
+         * @return the number of queries this transaction has run
+         */
+        public int queryCount() {
+            return queries.get();
         }
 
-        private <T extends Answer> QueryFuture<Stream<T>> streamInternal(GraqlQuery query, QueryOptions options) {
-            return new QueryStreamFuture<>(getQueryIterator(query, options));
+        /**
+         * Discard the answers to every query whose answers have not all been read, so that they do not hold back the
+         * responses to later requests. Reading on from such a query then throws.
+         */
+        public void discardUnfinished() {
+            transceiver.discardUnfinished();
         }
 
-        public void close() {
+        /**
+         * Closes the transaction even if it belongs to a TransactionPool, as the pool does when it replaces it.
+         */
+        public void closeTransaction() {
             transceiver.close();
         }
 
@@ -617,11 +1358,54 @@ public class GraknClient implements AutoCloseable {
             }
         }
 
+        /**
+         * Commit the transaction. If a query sent with pipeline() failed, its error is thrown and nothing is committed.
+         * Answers to earlier queries that have not been read yet are discarded, and reading them throws.
+         */
         public void commit() {
-            sendAndReceiveOrThrow(RequestBuilder.Transaction.commit());
+            GraknClientException pipelined = pipelineFailure();
+            if (pipelined != null) {
+                throw pipelined;
+            }
+            // With buffering bounded, answers nobody has read yet would hold back the commit response behind them.
+            // Otherwise they are left to be read after the commit, as the server has already sent them.
+            if (transceiver.isBufferingBounded()) {
+                transceiver.discardUnfinished();
+            }
+            commitSent = true;
+            try {
+                sendAndReceiveOrThrow(RequestBuilder.Transaction.commit());
+            } catch (GraknClientException e) {
+                // The commit failed because a pipelined query broke the transaction, so report the cause
+                pipelined = pipelineFailure();
+                if (pipelined != null) {
+                    if (e.getCause() != pipelined.getCause()) {
+                        pipelined.addSuppressed(e);
+                    }
+                    throw pipelined;
+                }
+                throw e;
+            }
+            if (schemaChanged && session.schemaCache != null) {
+                session.schemaCache.invalidate();
+            }
+            if (type == Type.WRITE) {
+                session.writeCommits.incrementAndGet();
+                if (session.resultCache != null) {
+                    session.resultCache.invalidate();
+                }
+            }
             close();
         }
 
+        /**
+         * @return whether commit() has sent the commit request, after which a failure leaves it unknown whether the
+         * transaction was committed
+         */
+        public boolean commitSent() {
+            return commitSent;
+        }
+
         @Nullable
         public grakn.client.concept.type.Type.Remote<?, ?> getType(Label label) {
             SchemaConcept.Remote<?> concept = getSchemaConcept(label);
@@ -686,6 +1470,11 @@ public class GraknClient implements AutoCloseable {
         @SuppressWarnings("unchecked")
         @Nullable
         public SchemaConcept.Remote<?> getSchemaConcept(Label label) {
+            SchemaCache schemaCache = session.schemaCache;
+            if (schemaCache != null && !schemaChanged) {
+                ConceptProto.Concept cached = schemaCache.snapshot(this).get(label);
+                return cached == null ? null : Concept.Remote.of(cached, this).asSchemaConcept();
+            }
             SessionProto.Transaction.Res response = sendAndReceiveOrThrow(RequestBuilder.Transaction.getSchemaConcept(label));
             switch (response.getGetSchemaConceptRes().getResCase()) {
                 case NULL:
@@ -745,6 +1534,7 @@ public class GraknClient implements AutoCloseable {
         }
 
         public EntityType.Remote putEntityType(Label label) {
+            schemaChanged = true;
             return Concept.Remote.of(sendAndReceiveOrThrow(RequestBuilder.Transaction.putEntityType(label)).getPutEntityTypeRes().getEntityType(), this).asEntityType();
         }
 
@@ -753,6 +1543,7 @@ public class GraknClient implements AutoCloseable {
         }
         @SuppressWarnings("unchecked")
         public <V> AttributeType.Remote<V> putAttributeType(Label label, ValueType<V> valueType) {
+            schemaChanged = true;
             return (AttributeType.Remote<V>) Concept.Remote.of(sendAndReceiveOrThrow(RequestBuilder.Transaction.putAttributeType(label, valueType))
                     .getPutAttributeTypeRes().getAttributeType(), this).asAttributeType();
         }
@@ -761,6 +1552,7 @@ public class GraknClient implements AutoCloseable {
             return putRelationType(Label.of(label));
         }
         public RelationType.Remote putRelationType(Label label) {
+            schemaChanged = true;
             return Concept.Remote.of(sendAndReceiveOrThrow(RequestBuilder.Transaction.putRelationType(label))
                     .getPutRelationTypeRes().getRelationType(), this).asRelationType();
         }
@@ -769,6 +1561,7 @@ public class GraknClient implements AutoCloseable {
             return putRole(Label.of(label));
         }
         public Role.Remote putRole(Label label) {
+            schemaChanged = true;
             return Concept.Remote.of(sendAndReceiveOrThrow(RequestBuilder.Transaction.putRole(label))
                     .getPutRoleRes().getRole(), this).asRole();
         }
@@ -777,6 +1570,7 @@ public class GraknClient implements AutoCloseable {
             return putRule(Label.of(label), when, then);
         }
         public Rule.Remote putRule(Label label, Pattern when, Pattern then) {
+            schemaChanged = true;
             return Concept.Remote.of(sendAndReceiveOrThrow(RequestBuilder.Transaction.putRule(label, when, then))
                     .getPutRuleRes().getRule(), this).asRule();
         }
@@ -790,14 +1584,103 @@ public class GraknClient implements AutoCloseable {
         }
 
         public SessionProto.Transaction.Res runConceptMethod(ConceptId id, ConceptProto.Method.Req method) {
+            trackSchemaChange(id, method);
+            if (factCache == null) {
+                return sendAndReceiveOrThrow(conceptMethodRequest(id, method));
+            }
+            SessionProto.Transaction.Res cached = factCache.get(id, method);
+            if (cached != null) {
+                return cached;
+            }
+            long generation = factCache.generation();
+            SessionProto.Transaction.Res response = sendAndReceiveOrThrow(conceptMethodRequest(id, method));
+            factCache.record(id, method, response, generation);
+            return response;
+        }
+
+        /**
+         * Send a concept method without waiting for its response, so that many can be pipelined on the transaction.
+         * The future is completed on the gRPC thread.
+         */
+        public CompletableFuture<SessionProto.Transaction.Res> runConceptMethodAsync(ConceptId id, ConceptProto.Method.Req method) {
+            trackSchemaChange(id, method);
+            if (factCache == null) {
+                return transceiver.sendAsync(conceptMethodRequest(id, method));
+            }
+            SessionProto.Transaction.Res cached = factCache.get(id, method);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            long generation = factCache.generation();
+            return transceiver.sendAsync(conceptMethodRequest(id, method)).thenApply(response -> {
+                factCache.record(id, method, response, generation);
+                return response;
+            });
+        }
+
+        /**
+         * @return how many concept method calls were answered from the concept fact cache, 0 if it is disabled
+         */
+        public long conceptFactCacheHits() {
+            return factCache == null ? 0 : factCache.hits();
+        }
+
+        /**
+         * Remember the facts pre-filled in a concept received from the server, if this transaction caches concept facts.
+         */
+        public void recordConceptFacts(ConceptProto.Concept concept) {
+            if (factCache != null) {
+                factCache.record(concept);
+            }
+        }
+
+        /**
+         * Relabelling, deleting or reshaping the hierarchy of a schema concept changes what the session's schema
+         * snapshot holds, so it can no longer be used by this transaction, and is dropped when it commits.
+         * This may run on the gRPC thread, so it only consults a snapshot that is already loaded: if there is none,
+         * a deleted concept may have been a schema concept, and is assumed to be one.
+         */
+        private void trackSchemaChange(ConceptId id, ConceptProto.Method.Req method) {
+            SchemaCache schemaCache = session.schemaCache;
+            if (schemaCache == null || schemaChanged) {
+                return;
+            }
+            switch (method.getReqCase()) {
+                case SCHEMACONCEPTSETLABELREQ:
+                case SCHEMACONCEPTSETSUPREQ:
+                case TYPEHASREQ:
+                case TYPEUNHASREQ:
+                case TYPEKEYREQ:
+                case TYPEUNKEYREQ:
+                case TYPEPLAYSREQ:
+                case TYPEUNPLAYREQ:
+                case RELATIONTYPERELATESREQ:
+                case RELATIONTYPEUNRELATEREQ:
+                    schemaChanged = true;
+                    break;
+                case CONCEPTDELETEREQ:
+                    SchemaCache.Snapshot loaded = schemaCache.loaded();
+                    schemaChanged = loaded == null || loaded.contains(id);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private static SessionProto.Transaction.Req conceptMethodRequest(ConceptId id, ConceptProto.Method.Req method) {
             SessionProto.Transaction.ConceptMethod.Req conceptMethod = SessionProto.Transaction.ConceptMethod.Req.newBuilder()
                     .setId(id.getValue()).setMethod(method).build();
-            SessionProto.Transaction.Req request = SessionProto.Transaction.Req.newBuilder().setConceptMethodReq(conceptMethod).build();
-
-            return sendAndReceiveOrThrow(request);
+            return SessionProto.Transaction.Req.newBuilder().setConceptMethodReq(conceptMethod).build();
         }
 
         public <T> Stream<T> iterateConceptMethod(ConceptId id, ConceptProto.Method.Iter.Req method, Function<ConceptProto.Method.Iter.Res, T> responseReader) {
+            SchemaCache schemaCache = session.schemaCache;
+            if (schemaCache != null && !schemaChanged && SchemaCache.caches(method.getReqCase())) {
+                List<ConceptProto.Method.Iter.Res> cached = schemaCache.snapshot(this).get(id, method.getReqCase());
+                if (cached != null) {
+                    return cached.stream().map(responseReader);
+                }
+            }
             SessionProto.Transaction.ConceptMethod.Iter.Req conceptIterMethod = SessionProto.Transaction.ConceptMethod.Iter.Req.newBuilder()
                     .setId(id.getValue()).setMethod(method).build();
             SessionProto.Transaction.Iter.Req request = SessionProto.Transaction.Iter.Req.newBuilder().setConceptMethodIterReq(conceptIterMethod).build();
@@ -805,6 +1688,19 @@ public class GraknClient implements AutoCloseable {
             return iterate(request, res -> responseReader.apply(res.getConceptMethodIterRes().getResponse()));
         }
 
+        /**
+         * Parse a query pattern received from the server. Answers to the same query carry the same pattern, so each
+         * distinct pattern is parsed once per transaction.
+         */
+        public Pattern parsePattern(String pattern) {
+            Pattern parsed = patternCache.getIfPresent(pattern);
+            if (parsed == null) {
+                parsed = Graql.parsePattern(pattern);
+                patternCache.put(pattern, parsed);
+            }
+            return parsed;
+        }
+
         public Explanation getExplanation(ConceptMap explainable) {
             AnswerProto.ConceptMap conceptMapProto = conceptMap(explainable);
             AnswerProto.Explanation.Req explanationReq = AnswerProto.Explanation.Req.newBuilder().setExplainable(conceptMapProto).build();
@@ -825,27 +1721,49 @@ public class GraknClient implements AutoCloseable {
         }
 
         public <T> Stream<T> iterate(SessionProto.Transaction.Iter.Req request, Function<SessionProto.Transaction.Iter.Res, T> responseReader) {
-            return Objects.requireNonNull(StreamSupport.stream(((Iterable<T>) () -> new RPCIterator<>(request, responseReader)).spliterator(), false));
+            return answerStream(new RPCIterator<>(request, Options.DEFAULT, responseReader));
         }
 
+        /**
+         * The answers to a query, which are either still to come from the server or were answered from the session's
+         * ResultCache.
+         */
         public abstract class QueryFuture<T> implements Future<T> {
             @Override
+            public abstract T get();
+
+            @Override
+            public abstract T get(long timeout, TimeUnit unit) throws TimeoutException;
+        }
+
+        /**
+         * A QueryFuture whose answers come from the server through an RPCIterator.
+         */
+        private abstract class RPCQueryFuture<T> extends QueryFuture<T> {
+            /**
+             * Stop requesting further answer batches and discard any answers already received or still in flight.
+             * Other queries on the same transaction are unaffected.
+             */
+            @Override
             public boolean cancel(boolean mayInterruptIfRunning) {
-                return false; // Can't cancel
+                return getIterator().cancel();
             }
 
             @Override
             public boolean isCancelled() {
-                return false; // Can't cancel
+                return getIterator().isCancelled();
             }
 
             @Override
             public boolean isDone() {
-                return getIterator().isStarted();
+                return isCancelled() || getIterator().isStarted();
             }
 
             @Override
             public T get() {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
                 try {
                     getIterator().waitForStart();
                 } catch (InterruptedException ex) {
@@ -857,6 +1775,9 @@ public class GraknClient implements AutoCloseable {
 
             @Override
             public T get(long timeout, TimeUnit unit) throws TimeoutException {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
                 try {
                     getIterator().waitForStart(timeout, unit);
                 } catch (InterruptedException ex) {
@@ -870,7 +1791,7 @@ public class GraknClient implements AutoCloseable {
             protected abstract T getInternal();
         }
 
-        private class QueryStreamFuture<T> extends QueryFuture<Stream<T>> {
+        private class QueryStreamFuture<T> extends RPCQueryFuture<Stream<T>> {
             private RPCIterator<T> iterator;
 
             protected QueryStreamFuture(RPCIterator<T> iterator) {
@@ -884,11 +1805,11 @@ public class GraknClient implements AutoCloseable {
 
             @Override
             protected Stream<T> getInternal() {
-                return StreamSupport.stream(((Iterable<T>) () -> iterator).spliterator(), false);
+                return answerStream(iterator);
             }
         }
 
-        private class QueryExecuteFuture<T> extends QueryFuture<List<T>> {
+        private class QueryExecuteFuture<T> extends RPCQueryFuture<List<T>> {
             private RPCIterator<T> iterator;
 
             protected QueryExecuteFuture(RPCIterator<T> iterator) {
@@ -908,49 +1829,163 @@ public class GraknClient implements AutoCloseable {
             }
         }
 
+        /**
+         * A QueryFuture for a query answered from the session's ResultCache, whose answers are ready at once and never
+         * go to the server. A query the cache could not answer gets a QueryExecuteFuture or QueryStreamFuture instead.
+         */
+        private class CachedQueryFuture<T> extends QueryFuture<T> {
+            private final T result;
+
+            private CachedQueryFuture(T result) {
+                this.result = result;
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return false;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public boolean isDone() {
+                return true;
+            }
+
+            @Override
+            public T get() {
+                return result;
+            }
+
+            @Override
+            public T get(long timeout, TimeUnit unit) {
+                return result;
+            }
+        }
+
         /**
          * A client-side iterator over gRPC messages. Will send SessionProto.Transaction.Iter.Req messages until
          * SessionProto.Transaction.Iter.Res returns done as a message.
          *
+         * When a prefetch depth is set, the follow-up request for a batch is sent from the gRPC thread as soon as
+         * the batch's iterator id arrives, so up to that many batches are in flight while the current one is consumed.
+         *
+         * When an AdaptiveBatchSize is set, the size of each follow-up batch is recomputed from the round trip time
+         * of the batch it follows and the time the consumer spent on the answers of the last batch it finished. A
+         * prefetched batch is sized when it is requested, so it does not lag behind the latest measurements.
+         *
+         * When the transaction has a RetryPolicy, a transient failure reopens the transaction and replays the query,
+         * skipping the answers this iterator has already returned. The reopened transaction reads a new snapshot, so
+         * the skipped answers are checked against a digest of those returned, and the iterator fails rather than
+         * drop or repeat answers if they differ.
+         *
          * @param <T> class type of objects being iterated
          */
         public class RPCIterator<T> extends AbstractIterator<T> {
             private Function<SessionProto.Transaction.Iter.Res, T> responseReader;
-            private Batch currentBatch;
+            private volatile Batch currentBatch;
             private volatile boolean started;
+            private volatile boolean finished;
+            private volatile boolean cancelled;
             private SessionProto.Transaction.Iter.Res first;
-            private SessionProto.Transaction.Iter.Req.Options options;
-
-            private RPCIterator(SessionProto.Transaction.Iter.Req req,
+            private volatile SessionProto.Transaction.Iter.Req.Options options;
+            private int prefetch;
+            private final AtomicInteger batchesAhead = new AtomicInteger();
+
+            private AdaptiveBatchSize adaptive;
+            private int batchAnswers;
+            private long consumerNanos;
+            private volatile int measuredAnswers;
+            private volatile long measuredConsumerNanos;
+            private long lastTakenNanos;
+            private long deadlineNanos;
+            private boolean hasDeadline;
+
+            private final SessionProto.Transaction.Iter.Req initialRequest;
+            private Transceiver sentOn;
+            private int retries;
+            private long answersReturned;
+            private long answersToSkip;
+            private final boolean resumable;
+            private long returnedDigest;
+            private long skippedDigest;
+            @Nullable
+            private Consumer<SessionProto.Transaction.Iter.Res> onPulled;
+            @Nullable
+            private Runnable onFinished;
+
+            private RPCIterator(SessionProto.Transaction.Iter.Req req, QueryOptions queryOptions,
                                 Function<SessionProto.Transaction.Iter.Res, T> responseReader) {
                 this.responseReader = responseReader;
+                this.initialRequest = req;
+                this.sentOn = transceiver;
+                this.resumable = retryPolicy != null && type == Type.READ;
                 options = req.getOptions();
-                sendRequest(req);
+                queryOptions.whenSet(PrefetchOption.PREFETCH, depth -> prefetch = depth);
+                queryOptions.whenSet(AdaptiveBatchOption.ADAPTIVE_BATCH_SIZE, size -> adaptive = size);
+                queryOptions.whenSet(DeadlineOption.DEADLINE_NANOS, timeout -> {
+                    hasDeadline = true;
+                    deadlineNanos = System.nanoTime() + timeout;
+                });
+                currentBatch = sendRequest(req);
             }
 
-            private void sendRequest(SessionProto.Transaction.Iter.Req req) {
-                currentBatch = new Batch();
+            private Batch sendRequest(SessionProto.Transaction.Iter.Req req) {
+                Batch batch = new Batch();
 
                 SessionProto.Transaction.Req transactionReq = SessionProto.Transaction.Req.newBuilder()
                         .setIterReq(req).build();
 
-                transceiver.sendAndReceiveMultipleAsync(transactionReq, currentBatch);
+                transceiver.sendAndReceiveMultipleAsync(transactionReq, batch);
+                return batch;
             }
 
-            private void nextBatch(int iteratorId) {
+            private Batch nextBatch(int iteratorId) {
                 SessionProto.Transaction.Iter.Req iterReq = SessionProto.Transaction.Iter.Req.newBuilder()
                         .setIteratorId(iteratorId)
                         .setOptions(options)
                         .build();
 
-                sendRequest(iterReq);
+                return sendRequest(iterReq);
             }
 
             private class Batch extends Transceiver.MultiResponseCollector {
+                private final long sentNanos = System.nanoTime();
+                private volatile long firstResponseNanos;
+                private volatile Batch prefetched;
+
                 @Override
                 protected boolean isLastResponse(SessionProto.Transaction.Res response) {
+                    if (firstResponseNanos == 0) {
+                        firstResponseNanos = System.nanoTime();
+                    }
                     SessionProto.Transaction.Iter.Res iterRes = response.getIterRes();
-                    return iterRes.getIteratorId() != 0 || iterRes.getDone();
+                    if (iterRes.getIteratorId() != 0) {
+                        prefetch(iterRes.getIteratorId());
+                        return true;
+                    }
+                    return iterRes.getDone();
+                }
+
+                /**
+                 * Called on the gRPC thread before the iterator id is handed to the consumer, so the consumer will
+                 * always observe the prefetched batch if one was requested.
+                 */
+                private void prefetch(int iteratorId) {
+                    if (batchesAhead.get() < prefetch && !cancelled && transceiver.isOpen()) {
+                        batchesAhead.incrementAndGet();
+                        if (adaptive != null) {
+                            adaptBatchSize(this);
+                        }
+                        prefetched = nextBatch(iteratorId);
+                        // cancel() may have run after the check above without seeing this batch
+                        if (cancelled) {
+                            prefetched.discard();
+                        }
+                    }
                 }
             }
 
@@ -958,12 +1993,58 @@ public class GraknClient implements AutoCloseable {
                 return started;
             }
 
+            /**
+             * Run an action on the consumer's thread for each answer as it is pulled from the server, in the order the
+             * server sent them, before it is decoded.
+             */
+            void onPulled(Consumer<SessionProto.Transaction.Iter.Res> action) {
+                this.onPulled = action;
+            }
+
+            /**
+             * Run an action on the consumer's thread once it has pulled every answer, which does not happen if the
+             * iterator is cancelled or fails first.
+             */
+            void onFinished(Runnable action) {
+                this.onFinished = action;
+            }
+
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            /**
+             * Stop iterating: no further batches are requested, and the current and any prefetched batches drop
+             * the responses they hold or are still to receive. The server-side iterator is released when the
+             * transaction closes.
+             *
+             * @return false if the iterator had already finished or been cancelled
+             */
+            public boolean cancel() {
+                if (finished || cancelled) {
+                    return false;
+                }
+                cancelled = true;
+                for (Batch batch = currentBatch; batch != null; batch = batch.prefetched) {
+                    batch.discard();
+                }
+                return true;
+            }
+
             public void waitForStart(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
                 if (first != null) {
                     throw new IllegalStateException("Should not poll RPCIterator multiple times");
                 }
 
-                first = currentBatch.poll(timeout, unit).getIterRes();
+                long deadline = System.nanoTime() + unit.toNanos(timeout);
+                while (true) {
+                    try {
+                        first = currentBatch.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS).getIterRes();
+                        return;
+                    } catch (GraknClientException e) {
+                        resume(e);
+                    }
+                }
             }
 
             public void waitForStart() throws InterruptedException {
@@ -972,30 +2053,378 @@ public class GraknClient implements AutoCloseable {
 
             @Override
             protected T computeNext() {
-                if (first != null) {
-                    SessionProto.Transaction.Iter.Res iterRes = first;
-                    first = null;
-                    return responseReader.apply(iterRes);
+                SessionProto.Transaction.Iter.Res answer = nextAnswer();
+                if (answer == null) {
+                    return endOfData();
+                }
+                return responseReader.apply(answer);
+            }
+
+            /**
+             * @return the next answer still to be decoded, or null when there are no more
+             */
+            @Nullable
+            private SessionProto.Transaction.Iter.Res nextAnswer() {
+                if (finished) {
+                    return null;
+                }
+                while (true) {
+                    SessionProto.Transaction.Iter.Res res;
+                    if (first != null) {
+                        res = first;
+                        first = null;
+                    } else if (cancelled) {
+                        return null;
+                    } else {
+                        try {
+                            res = take();
+                        } catch (CancellationException e) {
+                            if (cancelled) {
+                                return null;
+                            }
+                            // Discarded by the transaction committing or closing while answers were still unread
+                            throw GraknClientException.unreadAnswersDiscarded();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    started = true;
+                    switch (res.getResCase()) {
+                        case ITERATORID:
+                            if (adaptive != null) {
+                                measuredAnswers = batchAnswers;
+                                measuredConsumerNanos = consumerNanos;
+                                batchAnswers = 0;
+                                consumerNanos = 0;
+                            }
+                            if (currentBatch.prefetched != null) {
+                                batchesAhead.decrementAndGet();
+                                currentBatch = currentBatch.prefetched;
+                            } else {
+                                if (adaptive != null) {
+                                    adaptBatchSize(currentBatch);
+                                }
+                                currentBatch = nextBatch(res.getIteratorId());
+                            }
+                            if (cancelled) {
+                                currentBatch.discard();
+                            }
+                            continue;
+                        case DONE:
+                            if (answersToSkip > 0) {
+                                throw GraknClientException.resumedAnswersDiffer();
+                            }
+                            finished = true;
+                            if (onFinished != null) {
+                                onFinished.run();
+                            }
+                            return null;
+                        case RES_NOT_SET:
+                            throw new IllegalStateException("Received an empty response");
+                        default:
+                            batchAnswers++;
+                            if (answersToSkip > 0) {
+                                skippedDigest = digest(skippedDigest, res);
+                                if (--answersToSkip == 0 && skippedDigest != returnedDigest) {
+                                    throw GraknClientException.resumedAnswersDiffer();
+                                }
+                                continue;
+                            }
+                            answersReturned++;
+                            if (resumable) {
+                                returnedDigest = digest(returnedDigest, res);
+                            }
+                            if (onPulled != null) {
+                                onPulled.accept(res);
+                            }
+                            return res;
+                    }
+                }
+            }
+
+            private SessionProto.Transaction.Iter.Res take() throws InterruptedException {
+                if (adaptive == null) {
+                    return takeRetrying();
                 }
+                // Only the time spent outside of take() counts towards how long the consumer needs per answer
+                if (lastTakenNanos != 0) {
+                    consumerNanos += System.nanoTime() - lastTakenNanos;
+                }
+                SessionProto.Transaction.Iter.Res res = takeRetrying();
+                lastTakenNanos = System.nanoTime();
+                return res;
+            }
+
+            private SessionProto.Transaction.Iter.Res takeRetrying() throws InterruptedException {
+                while (true) {
+                    try {
+                        return takeBeforeDeadline();
+                    } catch (GraknClientException e) {
+                        resume(e);
+                    }
+                }
+            }
+
+            /**
+             * Reopen the transaction after a failure the retry policy allows, backing off before each attempt, and
+             * replay the query from the start. The answers already returned are skipped when they arrive again.
+             *
+             * @throws GraknClientException the last failure, once the retry policy gives up
+             */
+            private void resume(GraknClientException failure) throws InterruptedException {
+                while (true) {
+                    if (retryPolicy == null || type != Type.READ || cancelled || !retryPolicy.allowsRetry(retries + 1, failure)) {
+                        throw failure;
+                    }
+                    retries++;
+                    TimeUnit.NANOSECONDS.sleep(retryPolicy.backoffNanos(retries));
+                    try {
+                        reopen(sentOn);
+                        break;
+                    } catch (GraknClientException e) {
+                        failure = e;
+                    }
+                }
+                for (Batch batch = currentBatch; batch != null; batch = batch.prefetched) {
+                    batch.discard();
+                }
+                batchesAhead.set(0);
+                answersToSkip = answersReturned;
+                skippedDigest = 0;
+                options = initialRequest.getOptions();
+                sentOn = transceiver;
+                currentBatch = sendRequest(initialRequest);
+            }
+
+            private long digest(long digest, SessionProto.Transaction.Iter.Res res) {
+                return digest * 31 + res.hashCode();
+            }
+
+            private SessionProto.Transaction.Iter.Res takeBeforeDeadline() throws InterruptedException {
+                if (!hasDeadline) {
+                    return currentBatch.take().getIterRes();
+                }
+                try {
+                    return currentBatch.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS).getIterRes();
+                } catch (TimeoutException e) {
+                    cancel();
+                    throw GraknClientException.deadlineExceeded();
+                }
+            }
+
+            /**
+             * Size the batch that follows the given one, from its round trip and the last consumer measurements.
+             * Called on the consumer thread, or on the gRPC thread for a prefetched batch.
+             */
+            private synchronized void adaptBatchSize(Batch previous) {
+                long roundTripNanos = previous.firstResponseNanos - previous.sentNanos;
+                int answers = measuredAnswers;
+                long nanos = measuredConsumerNanos;
+                int batchSize = adaptive.nextSize(options.getNumber(), roundTripNanos, answers, nanos);
+                adaptive.listener().onBatchSize(batchSize, roundTripNanos, answers, nanos);
+                options = SessionProto.Transaction.Iter.Req.Options.newBuilder().setNumber(batchSize).build();
+            }
+        }
+
+        private <T> Stream<T> answerStream(RPCIterator<T> iterator) {
+            return StreamSupport.stream(new AnswerSpliterator<>(iterator), false).onClose(iterator::cancel);
+        }
+
+        /**
+         * Pulls answers from the server sequentially, but can split off chunks of answers that have already been
+         * pulled, so that a parallel stream decodes and processes them on the fork-join pool while the next chunk is
+         * being pulled. The chunks grow as the stream is split further, amortising the cost of each split.
+         */
+        private class AnswerSpliterator<T> implements Spliterator<T> {
+            private static final int INITIAL_SPLIT = 64;
+            private static final int MAX_SPLIT = 1 << 14;
+
+            private final RPCIterator<T> iterator;
+            private int splitSize = INITIAL_SPLIT;
+
+            private AnswerSpliterator(RPCIterator<T> iterator) {
+                this.iterator = iterator;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                SessionProto.Transaction.Iter.Res answer = iterator.nextAnswer();
+                if (answer == null) {
+                    return false;
+                }
+                action.accept(iterator.responseReader.apply(answer));
+                return true;
+            }
+
+            @Override
+            @Nullable
+            public Spliterator<T> trySplit() {
+                List<SessionProto.Transaction.Iter.Res> chunk = new ArrayList<>(splitSize);
+                SessionProto.Transaction.Iter.Res answer;
+                while (chunk.size() < splitSize && (answer = iterator.nextAnswer()) != null) {
+                    chunk.add(answer);
+                }
+                if (chunk.isEmpty()) {
+                    return null;
+                }
+                splitSize = Math.min(splitSize * 2, MAX_SPLIT);
+                Function<SessionProto.Transaction.Iter.Res, T> responseReader = iterator.responseReader;
+                return chunk.stream().map(responseReader).spliterator();
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return ORDERED | NONNULL;
+            }
+        }
+
+        private class QueryPublisher<T extends Answer> implements Flow.Publisher<T> {
+            private final String query;
+            private final QueryOptions options;
+            private final AtomicBoolean subscribed = new AtomicBoolean();
+
+            private QueryPublisher(String query, QueryOptions options) {
+                this.query = query;
+                this.options = options;
+            }
+
+            @Override
+            public void subscribe(Flow.Subscriber<? super T> subscriber) {
+                if (!subscribed.compareAndSet(false, true)) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {}
+
+                        @Override
+                        public void cancel() {}
+                    });
+                    subscriber.onError(new IllegalStateException("A query publisher can only be subscribed to once"));
+                    return;
+                }
+                subscriber.onSubscribe(new QuerySubscription<>(query, options, subscriber));
+            }
+        }
+
+        /**
+         * Requests one batch at a time, sized to the outstanding demand but no larger than the query's batch size.
+         * Every response of the batch is pushed to the subscriber from the gRPC thread, and the next batch is
+         * requested when the iterator id arrives.
+         *
+         * The protocol has no request to close a server-side iterator before it is exhausted. Cancelling therefore
+         * stops requesting batches and drops the rest of the batch in flight without decoding it, so that at most one
+         * batch is computed and sent in vain; an iterator left unexhausted is released when the transaction closes.
+         */
+        private class QuerySubscription<T extends Answer> implements Flow.Subscription, Transceiver.ResponseCollector {
+            private static final int DEFAULT_BATCH_SIZE = 50;
+
+            private final String query;
+            private final QueryOptions options;
+            private final Flow.Subscriber<? super T> subscriber;
+            private final AtomicLong demand = new AtomicLong();
+            private final AtomicBoolean batchInFlight = new AtomicBoolean();
+            private final AtomicBoolean terminated = new AtomicBoolean();
+            private int maxBatchSize = DEFAULT_BATCH_SIZE;
+            private volatile int iteratorId;
+            private volatile boolean done;
+
+            private QuerySubscription(String query, QueryOptions options, Flow.Subscriber<? super T> subscriber) {
+                this.query = query;
+                this.options = options;
+                this.subscriber = subscriber;
+                options.whenSet(BatchOption.BATCH_SIZE, batch -> {
+                    if (!batch.getAll()) {
+                        maxBatchSize = batch.getNumber();
+                    }
+                });
+            }
+
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    if (terminated.compareAndSet(false, true)) {
+                        subscriber.onError(new IllegalArgumentException("Requested number of answers must be positive, was: " + n));
+                    }
+                    return;
+                }
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+                requestBatch();
+            }
+
+            @Override
+            public void cancel() {
+                terminated.set(true);
+            }
+
+            private void requestBatch() {
+                if (terminated.get() || done || demand.get() == 0 || !batchInFlight.compareAndSet(false, true)) {
+                    return;
+                }
+                SessionProto.Transaction.Iter.Req.Options batch = SessionProto.Transaction.Iter.Req.Options.newBuilder()
+                        .setNumber((int) Math.min(demand.get(), maxBatchSize)).build();
+                SessionProto.Transaction.Iter.Req iterReq;
+                if (iteratorId == 0) {
+                    iterReq = RequestBuilder.Transaction.query(query, options).toBuilder().setOptions(batch).build();
+                } else {
+                    iterReq = SessionProto.Transaction.Iter.Req.newBuilder().setIteratorId(iteratorId).setOptions(batch).build();
+                }
+                try {
+                    transceiver.sendAndReceiveMultipleAsync(SessionProto.Transaction.Req.newBuilder().setIterReq(iterReq).build(), this);
+                } catch (GraknClientException e) {
+                    finish(e);
+                }
+            }
 
+            @Override
+            public boolean onResponse(Transceiver.Response response) {
                 SessionProto.Transaction.Iter.Res res;
                 try {
-                    res = currentBatch.take().getIterRes();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
+                    res = response.ok().getIterRes();
+                } catch (GraknClientException e) {
+                    finish(e);
+                    return true;
                 }
-                started = true;
                 switch (res.getResCase()) {
                     case ITERATORID:
-                        nextBatch(res.getIteratorId());
-                        return computeNext();
+                        iteratorId = res.getIteratorId();
+                        batchInFlight.set(false);
+                        requestBatch();
+                        return true;
                     case DONE:
-                        return endOfData();
+                        finish(null);
+                        return true;
                     case RES_NOT_SET:
-                        throw new IllegalStateException("Received an empty response");
+                        finish(new IllegalStateException("Received an empty response"));
+                        return true;
                     default:
-                        return responseReader.apply(res);
+                        if (!terminated.get()) {
+                            demand.decrementAndGet();
+                            T answer = ResponseReader.answer(res.getQueryIterRes().getAnswer(), Transaction.this);
+                            try {
+                                subscriber.onNext(answer);
+                            } catch (RuntimeException e) {
+                                // A subscriber that throws is considered to have cancelled
+                                cancel();
+                            }
+                        }
+                        return false;
+                }
+            }
+
+            private void finish(@Nullable Throwable error) {
+                done = true;
+                if (!terminated.compareAndSet(false, true)) {
+                    return;
+                }
+                if (error == null) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onError(error);
                 }
             }
         }
@@ -1016,6 +2445,92 @@ public class GraknClient implements AutoCloseable {
             ALL;
         }
 
+        public enum PrefetchOption implements Option<Integer> {
+            PREFETCH;
+        }
+
+        public enum AdaptiveBatchOption implements Option<AdaptiveBatchSize> {
+            ADAPTIVE_BATCH_SIZE;
+        }
+
+        public enum DeadlineOption implements Option<Long> {
+            DEADLINE_NANOS;
+        }
+
+        /**
+         * Batch size mode in which the number of answers requested per batch is recomputed after every batch,
+         * bounded by #min() and #max(). The first batch requests #min() answers. Takes precedence over a fixed batch
+         * size set on the same QueryOptions.
+         *
+         * The next size aims for the consumer to spend a few round trips' worth of time on each batch: a slow consumer
+         * keeps batches small, so answers arrive early and little is buffered, while a fast consumer grows them so the
+         * round trip is paid rarely. The size changes by at most a factor of two per batch.
+         */
+        public static final class AdaptiveBatchSize {
+            private static final int ROUND_TRIPS_PER_BATCH = 4;
+
+            private final int min;
+            private final int max;
+            private final Listener listener;
+
+            private AdaptiveBatchSize(int min, int max, Listener listener) {
+                if (min < 1) {
+                    throw new IllegalArgumentException("Batch size cannot be less that 1, was: " + min);
+                }
+                if (max < min) {
+                    throw new IllegalArgumentException("Maximum batch size " + max + " is less than minimum " + min);
+                }
+                this.min = min;
+                this.max = max;
+                this.listener = listener;
+            }
+
+            public static AdaptiveBatchSize between(int min, int max) {
+                return new AdaptiveBatchSize(min, max, (batchSize, roundTripNanos, answers, consumerNanos) -> {});
+            }
+
+            public AdaptiveBatchSize listener(Listener listener) {
+                return new AdaptiveBatchSize(min, max, listener);
+            }
+
+            public int min() {
+                return min;
+            }
+
+            public int max() {
+                return max;
+            }
+
+            public Listener listener() {
+                return listener;
+            }
+
+            int nextSize(int current, long roundTripNanos, int answers, long consumerNanos) {
+                if (answers == 0) {
+                    return current;
+                }
+                long target;
+                if (consumerNanos <= 0) {
+                    target = max;
+                } else {
+                    double nanosPerAnswer = (double) consumerNanos / answers;
+                    target = (long) (ROUND_TRIPS_PER_BATCH * roundTripNanos / nanosPerAnswer);
+                }
+                long next = Math.max(current / 2, Math.min(current * 2L, target));
+                return (int) Math.max(min, Math.min(max, next));
+            }
+
+            /**
+             * Receives the batch size chosen after each batch, with the measurements it was derived from.
+             * Called on the thread consuming the iterator, or on the gRPC thread when the batch is prefetched, so it
+             * must not block.
+             */
+            @FunctionalInterface
+            public interface Listener {
+                void onBatchSize(int batchSize, long roundTripNanos, int answers, long consumerNanos);
+            }
+        }
+
         private static class QueryOptionsImpl implements QueryOptions {
             private Map<Option<?>, Object> options;
 
@@ -1069,6 +2584,27 @@ public class GraknClient implements AutoCloseable {
                 }
                 throw new IllegalArgumentException("Invalid batch size mode: " + batchSize);
             }
+
+            @Override
+            public QueryOptions batchSize(AdaptiveBatchSize batchSize) {
+                return set(AdaptiveBatchOption.ADAPTIVE_BATCH_SIZE, batchSize);
+            }
+
+            @Override
+            public QueryOptions prefetch(int depth) {
+                if (depth < 0) {
+                    throw new IllegalArgumentException("Prefetch depth cannot be less than 0, was: " + depth);
+                }
+                return set(PrefetchOption.PREFETCH, depth);
+            }
+
+            @Override
+            public QueryOptions deadline(long timeout, TimeUnit unit) {
+                if (timeout <= 0) {
+                    throw new IllegalArgumentException("Deadline must be in the future, was: " + timeout + " " + unit);
+                }
+                return set(DeadlineOption.DEADLINE_NANOS, unit.toNanos(timeout));
+            }
         }
 
         public interface QueryOptions {
@@ -1076,6 +2612,15 @@ public class GraknClient implements AutoCloseable {
             QueryOptions explain(boolean explain);
             QueryOptions batchSize(int size);
             QueryOptions batchSize(BatchSize batchSize);
+            QueryOptions batchSize(AdaptiveBatchSize batchSize);
+            QueryOptions prefetch(int depth);
+
+            /**
+             * Fail the query with GraknClientException#deadlineExceeded() if its answers have not all been received
+             * within the timeout of it being sent, and stop requesting batches for it. Applies to execute() and
+             * stream(); the server keeps working on the batch in flight, which only closing the transaction stops.
+             */
+            QueryOptions deadline(long timeout, TimeUnit unit);
 
             <T> QueryOptions set(Option<T> flag, T value);
             <T> QueryOptions whenSet(Option<T> option, Consumer<T> consumer);
@@ -1099,6 +2644,18 @@ public class GraknClient implements AutoCloseable {
             static QueryOptions batchSize(BatchSize batchSize) {
                 return DEFAULT.batchSize(batchSize);
             }
+
+            static QueryOptions batchSize(AdaptiveBatchSize batchSize) {
+                return DEFAULT.batchSize(batchSize);
+            }
+
+            static QueryOptions prefetch(int depth) {
+                return DEFAULT.prefetch(depth);
+            }
+
+            static QueryOptions deadline(long timeout, TimeUnit unit) {
+                return DEFAULT.deadline(timeout, unit);
+            }
         }
     }
 
@@ -54,6 +54,16 @@ public class ConceptMap implements Answer {
         this.tx = tx;
     }
 
+    /**
+     * Constructor for subclasses that provide their own #map() and #queryPattern(), e.g. decoding them lazily.
+     */
+    protected ConceptMap(boolean hasExplanation, GraknClient.Transaction tx) {
+        this.map = null;
+        this.queryPattern = null;
+        this.hasExplanation = hasExplanation;
+        this.tx = tx;
+    }
+
     /**
      * @return all explanations taking part in the derivation of this answer
      */
@@ -74,7 +84,7 @@ public class ConceptMap implements Answer {
 
     @CheckReturnValue
     public Explanation explanation() {
-        if (hasExplanation) {
+        if (hasExplanation()) {
             return tx.getExplanation(this);
         } else {
             throw GraknClientException.explanationNotPresent();
@@ -98,7 +108,7 @@ public class ConceptMap implements Answer {
 
 
     public Collection<Concept<?>> concepts() {
-        return map.values();
+        return map().values();
     }
 
     @CheckReturnValue
@@ -108,14 +118,14 @@ public class ConceptMap implements Answer {
 
     @CheckReturnValue
     public Concept<?> get(Variable var) {
-        Concept<?> Concept = map.get(var);
+        Concept<?> Concept = map().get(var);
         if (Concept == null) throw GraknConceptException.variableDoesNotExist(var.toString());
         return Concept;
     }
 
     @Override
     public String toString() {
-        return map.entrySet().stream()
+        return map().entrySet().stream()
                 .sorted(Comparator.comparing(e -> e.getKey().name()))
                 .map(e -> "[" + e.getKey() + "/" + e.getValue().id() + "]").collect(Collectors.joining());
     }
@@ -123,11 +133,11 @@ public class ConceptMap implements Answer {
     @Override
     public boolean equals(Object obj) {
         if (obj == this) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!(obj instanceof ConceptMap)) return false;
         ConceptMap a2 = (ConceptMap) obj;
-        return map.equals(a2.map);
+        return map().equals(a2.map());
     }
 
     @Override
-    public int hashCode() { return map.hashCode();}
+    public int hashCode() { return map().hashCode();}
 }
@@ -384,6 +384,7 @@ public interface Concept<BaseType extends Concept<BaseType>> {
         @SuppressWarnings("unchecked")
         static <RemoteType extends Remote<BaseType>, BaseType extends Concept<BaseType>>
         RemoteType of(ConceptProto.Concept concept, GraknClient.Transaction tx) {
+            tx.recordConceptFacts(concept);
             ConceptId id = ConceptId.of(concept.getId());
             switch (concept.getBaseType()) {
                 case ENTITY:
@@ -24,6 +24,7 @@ import grakn.client.concept.Concept;
 import grakn.client.concept.ConceptId;
 import grakn.protocol.session.ConceptProto;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -153,5 +154,9 @@ public abstract class ConceptImpl {
             return tx().runConceptMethod(id, method).getConceptMethodRes().getResponse();
         }
 
+        protected final CompletableFuture<ConceptProto.Method.Res> runMethodAsync(ConceptProto.Method.Req method) {
+            return tx().runConceptMethodAsync(id(), method).thenApply(res -> res.getConceptMethodRes().getResponse());
+        }
+
     }
 }
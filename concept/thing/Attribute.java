@@ -27,6 +27,7 @@ import grakn.client.concept.type.AttributeType;
 import grakn.client.concept.ValueType;
 
 import javax.annotation.CheckReturnValue;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 public interface Attribute<D> extends Thing<Attribute<D>, AttributeType<D>> {
@@ -126,6 +127,14 @@ public interface Attribute<D> extends Thing<Attribute<D>, AttributeType<D>> {
         @Override
         AttributeType.Remote<D> type();
 
+        /**
+         * Asynchronous variant of #value(), which sends the request without waiting for the response.
+         *
+         * @return A future of the value itself, completed on the gRPC thread.
+         */
+        @CheckReturnValue
+        CompletableFuture<D> valueAsync();
+
         /**
          * Retrieves the set of all Instances that possess this Attribute.
          *
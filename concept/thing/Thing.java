@@ -27,6 +27,7 @@ import grakn.client.concept.type.AttributeType;
 import grakn.client.concept.type.Type;
 
 import javax.annotation.CheckReturnValue;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -101,6 +102,14 @@ public interface Thing<SomeThing extends Thing<SomeThing, SomeType>,
         @CheckReturnValue
         Type.Remote<SomeRemoteType, SomeRemoteThing> type();
 
+        /**
+         * Asynchronous variant of #type(), which sends the request without waiting for the response.
+         *
+         * @return A future of the Type of this concept, completed on the gRPC thread.
+         */
+        @CheckReturnValue
+        CompletableFuture<Type.Remote<SomeRemoteType, SomeRemoteThing>> typeAsync();
+
         /**
          * Retrieves a Relations which the Thing takes part in, which may optionally be narrowed to a particular set
          * according to the Role you are interested in.
@@ -174,6 +183,14 @@ public interface Thing<SomeThing extends Thing<SomeThing, SomeType>,
          */
         boolean isInferred();
 
+        /**
+         * Asynchronous variant of #isInferred(), which sends the request without waiting for the response.
+         *
+         * @return A future of whether this Thing exists due to a rule, completed on the gRPC thread.
+         */
+        @CheckReturnValue
+        CompletableFuture<Boolean> isInferredAsync();
+
         //------------------------------------- Other ---------------------------------
         @Deprecated
         @CheckReturnValue
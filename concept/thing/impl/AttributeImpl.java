@@ -28,6 +28,7 @@ import grakn.client.concept.thing.Thing;
 import grakn.client.concept.type.AttributeType;
 import grakn.protocol.session.ConceptProto;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static grakn.client.concept.ValueType.staticCastValue;
@@ -78,6 +79,14 @@ public class AttributeImpl {
             return staticCastValue(value);
         }
 
+        @Override
+        public final CompletableFuture<D> valueAsync() {
+            ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                    .setAttributeValueReq(ConceptProto.Attribute.Value.Req.getDefaultInstance()).build();
+
+            return runMethodAsync(method).<D>thenApply(res -> staticCastValue(res.getAttributeValueRes().getValue()));
+        }
+
         @Override
         public final Stream<Thing.Remote<?, ?>> owners() {
             ConceptProto.Method.Iter.Req method = ConceptProto.Method.Iter.Req.newBuilder()
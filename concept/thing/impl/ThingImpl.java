@@ -34,6 +34,7 @@ import grakn.protocol.session.ConceptProto;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 public abstract class ThingImpl {
@@ -92,6 +93,15 @@ public abstract class ThingImpl {
                 return Concept.Remote.of(runMethod(method).getThingTypeRes().getType(), tx());
             }
 
+            @Override
+            public final CompletableFuture<Type.Remote<SomeRemoteType, SomeRemoteThing>> typeAsync() {
+                ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                        .setThingTypeReq(ConceptProto.Thing.Type.Req.getDefaultInstance()).build();
+
+                return runMethodAsync(method).<Type.Remote<SomeRemoteType, SomeRemoteThing>>thenApply(
+                        res -> Concept.Remote.of(res.getThingTypeRes().getType(), tx()));
+            }
+
             @Override
             public final boolean isInferred() {
                 ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
@@ -100,6 +110,14 @@ public abstract class ThingImpl {
                 return runMethod(method).getThingIsInferredRes().getInferred();
             }
 
+            @Override
+            public final CompletableFuture<Boolean> isInferredAsync() {
+                ConceptProto.Method.Req method = ConceptProto.Method.Req.newBuilder()
+                        .setThingIsInferredReq(ConceptProto.Thing.IsInferred.Req.getDefaultInstance()).build();
+
+                return runMethodAsync(method).thenApply(res -> res.getThingIsInferredRes().getInferred());
+            }
+
             @Override
             public final Stream<Attribute.Remote<?>> keys(AttributeType<?>... attributeTypes) {
                 ConceptProto.Method.Iter.Req method = ConceptProto.Method.Iter.Req.newBuilder()
@@ -72,6 +72,19 @@ public class GraknClientException extends RuntimeException {
         return create("Result not present");
     }
 
+    public static GraknClientException deadlineExceeded() {
+        return create("The query did not complete before its deadline");
+    }
+
+    public static GraknClientException unreadAnswersDiscarded() {
+        return create("The transaction was committed or closed before all answers to the query were read");
+    }
+
+    public static GraknClientException resumedAnswersDiffer() {
+        return create("The query could not be resumed after a transient failure, as the reopened transaction's answers " +
+                              "differ from those already returned");
+    }
+
     public String getName() {
         return this.getClass().getName();
     }
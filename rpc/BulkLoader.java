@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import com.google.common.base.Throwables;
+import grakn.client.GraknClient;
+import grakn.client.exception.GraknClientException;
+import graql.lang.query.GraqlInsert;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Loads a stream of insert queries through several WRITE transactions in parallel, committing each after a fixed
+ * number of queries. Within a transaction, inserts are pipelined: they are sent without waiting for the answers to
+ * those before them, and their answers are discarded. Queries are handed to the transactions through a bounded
+ * queue, so a producer faster than the server is slowed down rather than buffered without limit.
+ *
+ * A batch whose transaction fails before its commit is sent is replayed on a new transaction, as the RetryPolicy
+ * allows; a batch that still fails is counted in Stats#failedQueries() and loading carries on with the next. A batch
+ * whose commit fails transiently after being sent may or may not have been committed, so it is never replayed, which
+ * could insert it twice, and is counted in Stats#uncertainQueries() instead.
+ *
+ * @see GraknClient.Session#bulkLoader()
+ */
+public final class BulkLoader {
+
+    private static final long PRODUCER_CHECK_MILLIS = 100;
+
+    private final GraknClient.Session session;
+    private final int transactions;
+    private final int commitEvery;
+    private final int queueCapacity;
+    private final RetryPolicy retryPolicy;
+    private final AtomicLong committedQueries = new AtomicLong();
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong failedQueries = new AtomicLong();
+    private final AtomicLong uncertainQueries = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private volatile Exception lastError;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+
+    private BulkLoader(Builder builder) {
+        this.session = builder.session;
+        this.transactions = builder.transactions;
+        this.commitEvery = builder.commitEvery;
+        this.queueCapacity = builder.queueCapacity;
+        this.retryPolicy = builder.retryPolicy;
+    }
+
+    public static class Builder {
+
+        private final GraknClient.Session session;
+        private int transactions = Runtime.getRuntime().availableProcessors();
+        private int commitEvery = 1_000;
+        private int queueCapacity = -1;
+        private RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3);
+
+        public Builder(GraknClient.Session session) {
+            this.session = session;
+        }
+
+        /**
+         * The number of WRITE transactions to load through in parallel. Defaults to the number of processors.
+         */
+        public Builder transactions(int transactions) {
+            if (transactions < 1) {
+                throw new IllegalArgumentException("Transactions cannot be less than 1, was: " + transactions);
+            }
+            this.transactions = transactions;
+            return this;
+        }
+
+        /**
+         * The number of queries each transaction runs before committing. Defaults to 1000.
+         */
+        public Builder commitEvery(int queries) {
+            if (queries < 1) {
+                throw new IllegalArgumentException("Queries per commit cannot be less than 1, was: " + queries);
+            }
+            this.commitEvery = queries;
+            return this;
+        }
+
+        /**
+         * The number of queries that may wait for a transaction before the producer is blocked. Defaults to one
+         * batch per transaction.
+         */
+        public Builder queueCapacity(int queries) {
+            if (queries < 1) {
+                throw new IllegalArgumentException("Queue capacity cannot be less than 1, was: " + queries);
+            }
+            this.queueCapacity = queries;
+            return this;
+        }
+
+        /**
+         * How often to replay a batch whose transaction failed. Defaults to 3 attempts on UNAVAILABLE.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public BulkLoader build() {
+            if (queueCapacity < 0) {
+                queueCapacity = (int) Math.min(Integer.MAX_VALUE, (long) transactions * commitEvery);
+            }
+            return new BulkLoader(this);
+        }
+    }
+
+    /**
+     * Loads every query of the stream, blocking until the last batch has been committed or has failed.
+     */
+    public Stats load(Stream<GraqlInsert> queries) {
+        BlockingQueue<Optional<GraqlInsert>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService executor = Executors.newFixedThreadPool(transactions, runnable -> {
+            Thread thread = new Thread(runnable, "grakn-bulk-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Each load reports its own counts, as its timings would not match counts carried over from the last one
+        committedQueries.set(0);
+        committedBatches.set(0);
+        failedQueries.set(0);
+        uncertainQueries.set(0);
+        retries.set(0);
+        lastError = null;
+        startedNanos = System.nanoTime();
+        finishedNanos = 0;
+        List<Future<?>> loaders = new ArrayList<>();
+        for (int i = 0; i < transactions; i++) {
+            loaders.add(executor.submit(() -> loadFrom(queue)));
+        }
+        try {
+            try {
+                Iterator<GraqlInsert> iterator = queries.iterator();
+                boolean loading = true;
+                while (loading && iterator.hasNext()) {
+                    loading = put(queue, Optional.of(iterator.next()), loaders);
+                }
+            } finally {
+                for (int i = 0; i < transactions; i++) {
+                    if (!put(queue, Optional.empty(), loaders)) {
+                        break;
+                    }
+                }
+            }
+            for (Future<?> loader : loaders) {
+                loader.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            finishedNanos = System.nanoTime();
+        }
+        return stats();
+    }
+
+    /**
+     * Wait for room in the queue, unless every loader has stopped, in which case nothing would ever make room.
+     *
+     * @return false if the query was not queued because every loader has stopped
+     */
+    private static boolean put(BlockingQueue<Optional<GraqlInsert>> queue, Optional<GraqlInsert> query,
+                               List<Future<?>> loaders) throws InterruptedException {
+        while (!queue.offer(query, PRODUCER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (loaders.stream().allMatch(Future::isDone)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void loadFrom(BlockingQueue<Optional<GraqlInsert>> queue) {
+        List<GraqlInsert> batch = new ArrayList<>(commitEvery);
+        try {
+            while (true) {
+                Optional<GraqlInsert> query = queue.take();
+                if (query.isPresent()) {
+                    batch.add(query.get());
+                }
+                if (batch.size() == commitEvery || (!query.isPresent() && !batch.isEmpty())) {
+                    commit(batch);
+                    batch = new ArrayList<>(commitEvery);
+                }
+                if (!query.isPresent()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<GraqlInsert> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            GraknClient.Transaction tx = null;
+            try {
+                tx = session.transaction().write();
+                for (GraqlInsert query : batch) {
+                    tx.pipeline(query);
+                }
+                tx.commit();
+                committedQueries.addAndGet(batch.size());
+                committedBatches.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                lastError = e;
+                if (!(e instanceof GraknClientException)) {
+                    failedQueries.addAndGet(batch.size());
+                    return;
+                }
+                GraknClientException failure = (GraknClientException) e;
+                if (tx != null && tx.commitSent()) {
+                    // A transient failure may have struck before or after the server committed, so it is not replayed
+                    if (retryPolicy.isTransient(failure)) {
+                        uncertainQueries.addAndGet(batch.size());
+                    } else {
+                        failedQueries.addAndGet(batch.size());
+                    }
+                    return;
+                }
+                if (!retryPolicy.allowsRetry(attempt, failure)) {
+                    failedQueries.addAndGet(batch.size());
+                    return;
+                }
+                retries.incrementAndGet();
+                TimeUnit.NANOSECONDS.sleep(retryPolicy.backoffNanos(attempt));
+            } finally {
+                if (tx != null) {
+                    tx.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the progress of the load running now, or the outcome of the last one
+     */
+    public Stats stats() {
+        long end = finishedNanos == 0 ? System.nanoTime() : finishedNanos;
+        return new Stats(committedQueries.get(), committedBatches.get(), failedQueries.get(), uncertainQueries.get(),
+                         retries.get(), startedNanos == 0 ? 0 : end - startedNanos, lastError);
+    }
+
+    /**
+     * A point-in-time view of a load's counters.
+     */
+    public static final class Stats {
+        private final long committedQueries;
+        private final long committedBatches;
+        private final long failedQueries;
+        private final long uncertainQueries;
+        private final long retries;
+        private final long elapsedNanos;
+        private final Exception lastError;
+
+        Stats(long committedQueries, long committedBatches, long failedQueries, long uncertainQueries, long retries,
+              long elapsedNanos, @Nullable Exception lastError) {
+            this.committedQueries = committedQueries;
+            this.committedBatches = committedBatches;
+            this.failedQueries = failedQueries;
+            this.uncertainQueries = uncertainQueries;
+            this.retries = retries;
+            this.elapsedNanos = elapsedNanos;
+            this.lastError = lastError;
+        }
+
+        public long committedQueries() {
+            return committedQueries;
+        }
+
+        public long committedBatches() {
+            return committedBatches;
+        }
+
+        /**
+         * @return the number of queries in batches that failed after every retry, and were not committed
+         */
+        public long failedQueries() {
+            return failedQueries;
+        }
+
+        /**
+         * @return the number of queries in batches whose commit failed after it was sent, which may or may not have
+         * been committed
+         */
+        public long uncertainQueries() {
+            return uncertainQueries;
+        }
+
+        /**
+         * @return the number of times a batch was replayed
+         */
+        public long retries() {
+            return retries;
+        }
+
+        public long elapsed(TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the committed queries per second since the load started
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : committedQueries * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return the error of the last failed attempt, whether or not it was retried
+         */
+        @Nullable
+        public Exception lastError() {
+            return lastError;
+        }
+
+        @Override
+        public String toString() {
+            return "BulkLoader.Stats{committedQueries=" + committedQueries + ", committedBatches=" + committedBatches +
+                    ", failedQueries=" + failedQueries + ", uncertainQueries=" + uncertainQueries + ", retries=" + retries +
+                    ", elapsedMillis=" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "}";
+        }
+    }
+}
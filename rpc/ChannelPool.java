@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.ManagedChannel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of channels to the same server, handed out round-robin.
+ * Each channel is a separate HTTP/2 connection with its own event loop, flow-control window and concurrent stream
+ * limit, so spreading transactions over several channels stops a single connection becoming the bottleneck when many
+ * threads are querying at once.
+ */
+public class ChannelPool {
+
+    private final List<ManagedChannel> channels;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ChannelPool(List<ManagedChannel> channels) {
+        this.channels = channels;
+    }
+
+    public static ChannelPool of(ManagedChannel channel) {
+        return new ChannelPool(ImmutableList.of(channel));
+    }
+
+    public static ChannelPool create(int size, Supplier<ManagedChannel> channelFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A channel pool needs at least one channel, but the size given was " + size);
+        }
+        ImmutableList.Builder<ManagedChannel> channels = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            channels.add(channelFactory.get());
+        }
+        return new ChannelPool(channels.build());
+    }
+
+    /**
+     * @return the channel to open the next stream on
+     */
+    public ManagedChannel next() {
+        if (channels.size() == 1) {
+            return channels.get(0);
+        }
+        return channels.get(Math.floorMod(next.getAndIncrement(), channels.size()));
+    }
+
+    public int size() {
+        return channels.size();
+    }
+
+    public void shutdown() {
+        channels.forEach(ManagedChannel::shutdown);
+    }
+
+    /**
+     * Waits for every channel to terminate, sharing the given timeout between them.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isShutdown() {
+        return channels.stream().allMatch(ManagedChannel::isShutdown);
+    }
+
+    public boolean isTerminated() {
+        return channels.stream().allMatch(ManagedChannel::isTerminated);
+    }
+}
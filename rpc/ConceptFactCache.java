@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import grakn.client.concept.ConceptId;
+import grakn.protocol.session.ConceptProto;
+import grakn.protocol.session.SessionProto;
+
+import javax.annotation.Nullable;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A per-transaction cache of concept method responses that cannot change within the transaction, such as the type of
+ * a thing or the value of an attribute, keyed by ConceptId.
+ * It is filled by responses to those methods and by the pre-filled responses carried by ConceptProto.Concept payloads,
+ * and invalidated by methods that delete or relabel a concept.
+ *
+ * Every invalidation moves the cache on to a new generation. A method response is only cached if no invalidation
+ * happened since its request was sent. The payloads embedded in responses are decoded long after they were sent,
+ * so instead, facts about concepts deleted or relabelled in this transaction are never recorded from payloads again.
+ * Invalidating a concept also drops the cached responses that embed it, such as the type of its instances.
+ */
+public class ConceptFactCache {
+
+    private static final Set<ConceptProto.Method.Req.ReqCase> FACTS = EnumSet.of(
+            ConceptProto.Method.Req.ReqCase.THINGTYPEREQ,
+            ConceptProto.Method.Req.ReqCase.THINGISINFERREDREQ,
+            ConceptProto.Method.Req.ReqCase.ATTRIBUTEVALUEREQ,
+            ConceptProto.Method.Req.ReqCase.ATTRIBUTETYPEVALUETYPEREQ,
+            ConceptProto.Method.Req.ReqCase.RULEWHENREQ,
+            ConceptProto.Method.Req.ReqCase.RULETHENREQ,
+            ConceptProto.Method.Req.ReqCase.SCHEMACONCEPTGETLABELREQ
+    );
+
+    private final Map<ConceptId, Map<ConceptProto.Method.Req.ReqCase, ConceptProto.Method.Res>> facts = new ConcurrentHashMap<>();
+    private final Set<ConceptId> deleted = ConcurrentHashMap.newKeySet();
+    private final Set<ConceptId> relabelled = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * @return the cached response to the method, or null if the method is not cached or not yet known for this concept
+     */
+    @Nullable
+    public SessionProto.Transaction.Res get(ConceptId id, ConceptProto.Method.Req method) {
+        if (!FACTS.contains(method.getReqCase())) {
+            return null;
+        }
+        Map<ConceptProto.Method.Req.ReqCase, ConceptProto.Method.Res> conceptFacts = facts.get(id);
+        ConceptProto.Method.Res cached = conceptFacts == null ? null : conceptFacts.get(method.getReqCase());
+        if (cached == null) {
+            return null;
+        }
+        hits.incrementAndGet();
+        return SessionProto.Transaction.Res.newBuilder()
+                .setConceptMethodRes(SessionProto.Transaction.ConceptMethod.Res.newBuilder().setResponse(cached))
+                .build();
+    }
+
+    /**
+     * @return the current generation, to be taken before sending a method whose response is then recorded
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return how many method calls were answered from the cache
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Record the response to a method that was sent to the server, caching it if it is a fact and nothing was
+     * invalidated since the given generation, or invalidating cached facts the method may have changed.
+     */
+    public void record(ConceptId id, ConceptProto.Method.Req method, SessionProto.Transaction.Res response, long sentGeneration) {
+        switch (method.getReqCase()) {
+            case CONCEPTDELETEREQ:
+                invalidate(id, true);
+                return;
+            case SCHEMACONCEPTSETLABELREQ:
+                invalidate(id, false);
+                return;
+            default:
+                if (FACTS.contains(method.getReqCase())) {
+                    synchronized (this) {
+                        if (sentGeneration == generation.get() && !deleted.contains(id)) {
+                            put(id, method.getReqCase(), response.getConceptMethodRes().getResponse());
+                        }
+                    }
+                }
+        }
+    }
+
+    /**
+     * Cache the responses pre-filled in a concept payload received from the server.
+     */
+    public synchronized void record(ConceptProto.Concept concept) {
+        ConceptId id = ConceptId.of(concept.getId());
+        if (deleted.contains(id)) {
+            return;
+        }
+        if (concept.hasLabelRes() && !relabelled.contains(id)) {
+            put(id, ConceptProto.Method.Req.ReqCase.SCHEMACONCEPTGETLABELREQ,
+                    ConceptProto.Method.Res.newBuilder().setSchemaConceptGetLabelRes(concept.getLabelRes()).build());
+        }
+        if (concept.hasTypeRes()) {
+            ConceptId typeId = ConceptId.of(concept.getTypeRes().getType().getId());
+            if (!deleted.contains(typeId) && !relabelled.contains(typeId)) {
+                put(id, ConceptProto.Method.Req.ReqCase.THINGTYPEREQ,
+                        ConceptProto.Method.Res.newBuilder().setThingTypeRes(concept.getTypeRes()).build());
+                record(concept.getTypeRes().getType());
+            }
+        }
+        if (concept.hasInferredRes()) {
+            put(id, ConceptProto.Method.Req.ReqCase.THINGISINFERREDREQ,
+                    ConceptProto.Method.Res.newBuilder().setThingIsInferredRes(concept.getInferredRes()).build());
+        }
+        if (concept.hasValueRes()) {
+            put(id, ConceptProto.Method.Req.ReqCase.ATTRIBUTEVALUEREQ,
+                    ConceptProto.Method.Res.newBuilder().setAttributeValueRes(concept.getValueRes()).build());
+        }
+        if (concept.hasValueTypeRes()) {
+            put(id, ConceptProto.Method.Req.ReqCase.ATTRIBUTETYPEVALUETYPEREQ,
+                    ConceptProto.Method.Res.newBuilder().setAttributeTypeValueTypeRes(concept.getValueTypeRes()).build());
+        }
+    }
+
+    /**
+     * Forget every cached fact, e.g. after a query that may have deleted concepts.
+     */
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        facts.clear();
+    }
+
+    /**
+     * Forget the facts about a concept, and every cached response that embeds it, and never record them from
+     * concept payloads again.
+     */
+    private synchronized void invalidate(ConceptId id, boolean isDelete) {
+        generation.incrementAndGet();
+        if (isDelete) {
+            deleted.add(id);
+            facts.remove(id);
+        } else {
+            relabelled.add(id);
+            forget(id, ConceptProto.Method.Req.ReqCase.SCHEMACONCEPTGETLABELREQ);
+        }
+        String embedded = id.getValue();
+        facts.values().forEach(conceptFacts -> {
+            ConceptProto.Method.Res type = conceptFacts.get(ConceptProto.Method.Req.ReqCase.THINGTYPEREQ);
+            if (type != null && type.getThingTypeRes().getType().getId().equals(embedded)) {
+                conceptFacts.remove(ConceptProto.Method.Req.ReqCase.THINGTYPEREQ);
+            }
+        });
+    }
+
+    private void put(ConceptId id, ConceptProto.Method.Req.ReqCase fact, ConceptProto.Method.Res response) {
+        facts.computeIfAbsent(id, k -> new ConcurrentHashMap<>()).put(fact, response);
+    }
+
+    private void forget(ConceptId id, ConceptProto.Method.Req.ReqCase fact) {
+        Map<ConceptProto.Method.Req.ReqCase, ConceptProto.Method.Res> conceptFacts = facts.get(id);
+        if (conceptFacts != null) {
+            conceptFacts.remove(fact);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+/**
+ * Demand-driven publish/subscribe interfaces, with the same contract as java.util.concurrent.Flow and
+ * org.reactivestreams. They are declared here because the client targets Java 8; on newer JVMs a Flow.Subscriber
+ * can be wrapped by delegating each method one-to-one.
+ */
+public final class Flow {
+
+    private Flow() {}
+
+    /**
+     * A producer of items, which are delivered to a Subscriber only as far as it has requested them.
+     *
+     * @param <T> the type of items published
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of items. For each Subscription, #onNext(Object) is called at most as many times as requested, and
+     * is followed by at most one of #onComplete() or #onError(Throwable).
+     *
+     * @param <T> the type of items received
+     */
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * The link between a Publisher and a Subscriber, through which the Subscriber signals demand or cancels.
+     */
+    public interface Subscription {
+        void request(long n);
+
+        void cancel();
+    }
+}
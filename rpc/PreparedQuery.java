@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import graql.lang.Graql;
+import graql.lang.query.GraqlQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A query template whose values are bound at each execution, such as
+ * {@code insert $p isa person, has name ?name, has age ?age;}. The template is parsed once, to check it and find
+ * out what kind of query it is, and split around its ?parameters, so that binding values only joins strings
+ * rather than building and rendering a Graql query.
+ *
+ * Parameters stand for values only: strings, numbers, booleans and LocalDateTimes. A ? inside a string literal is
+ * not a parameter.
+ */
+public final class PreparedQuery {
+
+    private static final int EXPECTED_VALUE_LENGTH = 16;
+
+    private final GraqlQuery template;
+    private final String[] segments;
+    private final List<String> parameters;
+    private final int expectedLength;
+
+    private PreparedQuery(GraqlQuery template, String[] segments, List<String> parameters) {
+        this.template = template;
+        this.segments = segments;
+        this.parameters = parameters;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.expectedLength = length + EXPECTED_VALUE_LENGTH * parameters.size();
+    }
+
+    /**
+     * @throws graql.lang.exception.GraqlException if the template is not a valid query
+     */
+    public static PreparedQuery prepare(String template) {
+        List<String> segments = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        StringBuilder validation = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < template.length()) {
+                    segment.append(c);
+                    validation.append(c);
+                    c = template.charAt(++i);
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '?') {
+                int end = i + 1;
+                while (end < template.length() && isParameterChar(template.charAt(end), end == i + 1)) {
+                    end++;
+                }
+                if (end == i + 1) {
+                    throw new IllegalArgumentException("Expected a parameter name after '?' at position " + i + " of: " + template);
+                }
+                segments.add(segment.toString());
+                segment.setLength(0);
+                parameters.add(template.substring(i + 1, end));
+                validation.append("\"\"");
+                i = end - 1;
+                continue;
+            }
+            segment.append(c);
+            validation.append(c);
+        }
+        segments.add(segment.toString());
+        GraqlQuery parsed = Graql.parse(validation.toString());
+        return new PreparedQuery(parsed, segments.toArray(new String[0]), Collections.unmodifiableList(parameters));
+    }
+
+    private static boolean isParameterChar(char c, boolean first) {
+        return Character.isLetter(c) || c == '_' || (!first && (Character.isDigit(c) || c == '-'));
+    }
+
+    /**
+     * @return the parameter names, in the order their values are passed to #bind(Object...)
+     */
+    public List<String> parameters() {
+        return parameters;
+    }
+
+    /**
+     * @param values the value of each parameter, in the order of #parameters()
+     */
+    public Bound bind(Object... values) {
+        if (values.length != parameters.size()) {
+            throw new IllegalArgumentException("Expected " + parameters.size() + " values for " + parameters + ", but got " + values.length);
+        }
+        StringBuilder query = new StringBuilder(expectedLength).append(segments[0]);
+        for (int i = 0; i < values.length; i++) {
+            appendValue(query, parameters.get(i), values[i]);
+            query.append(segments[i + 1]);
+        }
+        return new Bound(template, query.toString());
+    }
+
+    private static void appendValue(StringBuilder query, String parameter, Object value) {
+        if (value instanceof String) {
+            String string = (String) value;
+            query.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"' || c == '\\') {
+                    query.append('\\');
+                }
+                query.append(c);
+            }
+            query.append('"');
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Boolean) {
+            query.append(value);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new IllegalArgumentException("Cannot bind " + value + " to ?" + parameter + ", as Graql has no literal for it");
+            }
+            // Graql has no exponent notation, which Double#toString uses for large and small numbers. A float is
+            // read from its own shortest form, as widening it to a double would add digits it never had.
+            BigDecimal decimal = value instanceof Float ? new BigDecimal(value.toString()) : BigDecimal.valueOf(number);
+            String plain = decimal.toPlainString();
+            query.append(plain);
+            if (plain.indexOf('.') < 0) {
+                // Without a decimal point, Graql would read a whole number as a long, which may not even hold it
+                query.append(".0");
+            }
+        } else if (value instanceof LocalDateTime) {
+            query.append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(((LocalDateTime) value).truncatedTo(ChronoUnit.MILLIS)));
+        } else {
+            throw new IllegalArgumentException("Cannot bind a value of " + (value == null ? "null" : value.getClass()) + " to ?" + parameter);
+        }
+    }
+
+    /**
+     * A prepared query with values bound to all its parameters, ready to be run by a Transaction.
+     */
+    public static final class Bound {
+        private final GraqlQuery template;
+        private final String query;
+
+        private Bound(GraqlQuery template, String query) {
+            this.template = template;
+            this.query = query;
+        }
+
+        /**
+         * @return the parsed template, which tells what kind of query this is
+         */
+        public GraqlQuery template() {
+            return template;
+        }
+
+        @Override
+        public String toString() {
+            return query;
+        }
+    }
+}
@@ -91,6 +91,8 @@ public class RequestBuilder {
                             .setOptions(builder));
 
             options.whenSet(GraknClient.Transaction.BatchOption.BATCH_SIZE, req::setOptions);
+            options.whenSet(GraknClient.Transaction.AdaptiveBatchOption.ADAPTIVE_BATCH_SIZE, adaptive ->
+                    req.setOptions(SessionProto.Transaction.Iter.Req.Options.newBuilder().setNumber(adaptive.min())));
 
             return req.build();
         }
@@ -23,10 +23,10 @@ import grakn.client.GraknClient;
 import grakn.client.answer.Void;
 import grakn.client.concept.Concept;
 import grakn.client.concept.ConceptId;
+import grakn.client.concept.GraknConceptException;
 import grakn.client.concept.Rule;
 import grakn.protocol.session.AnswerProto;
 import grakn.protocol.session.ConceptProto;
-import graql.lang.Graql;
 import graql.lang.pattern.Pattern;
 import graql.lang.statement.Variable;
 import grakn.client.answer.Answer;
@@ -45,6 +45,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -77,6 +78,36 @@ public class ResponseReader {
         }
     }
 
+    /**
+     * Decodes an answer without binding it to a transaction, so that it can outlive the one it was received through.
+     * Concepts are Concept.Local copies and ConceptMaps carry no explanation. AnswerGroups are not supported, as their
+     * owner is a Concept.Remote.
+     *
+     * @param patterns parses the query pattern of a ConceptMap, which every answer to a query shares, so that it can
+     *                 be parsed once for the query rather than once per answer
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Answer> T detachedAnswer(AnswerProto.Answer res, Function<String, Pattern> patterns) {
+        switch (res.getAnswerCase()) {
+            case CONCEPTMAP:
+                return (T) detachedConceptMap(res.getConceptMap(), patterns);
+            case CONCEPTLIST:
+                return (T) conceptList(res.getConceptList());
+            case CONCEPTSET:
+                return (T) conceptSet(res.getConceptSet());
+            case CONCEPTSETMEASURE:
+                return (T) conceptSetMeasure(res.getConceptSetMeasure());
+            case VALUE:
+                return (T) value(res.getValue());
+            case VOID:
+                return (T) voidAnswer(res.getVoid());
+            default:
+            case ANSWERGROUP:
+            case ANSWER_NOT_SET:
+                throw new IllegalArgumentException("Unexpected " + res);
+        }
+    }
+
     public static Explanation explanation(AnswerProto.Explanation.Res res, GraknClient.Transaction tx) {
         List<ConceptMap> answers = new ArrayList<>();
         res.getExplanationList().forEach(explanationMap -> answers.add(conceptMap(explanationMap, tx)));
@@ -93,13 +124,14 @@ public class ResponseReader {
     }
 
     private static ConceptMap conceptMap(AnswerProto.ConceptMap res, GraknClient.Transaction tx) {
+        return new LazyConceptMap(res, tx);
+    }
+
+    private static ConceptMap detachedConceptMap(AnswerProto.ConceptMap res, Function<String, Pattern> patterns) {
         Map<Variable, Concept<?>> variableMap = new HashMap<>();
-        res.getMapMap().forEach(
-                (resVar, resConcept) -> variableMap.put(new Variable(resVar), Concept.Local.of(resConcept))
-        );
-        boolean hasExplanation = res.getHasExplanation();
-        Pattern queryPattern = res.getPattern().equals("") ? null : Graql.parsePattern(res.getPattern());
-        return new ConceptMap(Collections.unmodifiableMap(variableMap), queryPattern, hasExplanation, tx);
+        res.getMapMap().forEach((resVar, resConcept) -> variableMap.put(new Variable(resVar), Concept.Local.of(resConcept)));
+        Pattern queryPattern = res.getPattern().equals("") ? null : patterns.apply(res.getPattern());
+        return new ConceptMap(variableMap, queryPattern, false, null);
     }
 
     private static ConceptList conceptList(AnswerProto.ConceptList res) {
@@ -132,4 +164,59 @@ public class ResponseReader {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * A ConceptMap that keeps the AnswerProto.ConceptMap it was received as, and only decodes concepts and the query
+     * pattern when they are accessed. Reading a single variable decodes only that variable; the full map is decoded
+     * at most once, the first time it is needed.
+     */
+    private static class LazyConceptMap extends ConceptMap {
+
+        private final AnswerProto.ConceptMap res;
+        private final GraknClient.Transaction tx;
+        private volatile Map<Variable, Concept<?>> map;
+        private volatile Pattern queryPattern;
+
+        LazyConceptMap(AnswerProto.ConceptMap res, GraknClient.Transaction tx) {
+            super(res.getHasExplanation(), tx);
+            this.res = res;
+            this.tx = tx;
+        }
+
+        @Override
+        public Map<Variable, Concept<?>> map() {
+            Map<Variable, Concept<?>> decoded = map;
+            if (decoded == null) {
+                Map<Variable, Concept<?>> variableMap = new HashMap<>();
+                res.getMapMap().forEach((resVar, resConcept) -> {
+                    tx.recordConceptFacts(resConcept);
+                    variableMap.put(new Variable(resVar), Concept.Local.of(resConcept));
+                });
+                decoded = Collections.unmodifiableMap(variableMap);
+                map = decoded;
+            }
+            return decoded;
+        }
+
+        @Override
+        public Concept<?> get(Variable var) {
+            if (map != null) {
+                return super.get(var);
+            }
+            ConceptProto.Concept resConcept = res.getMapOrDefault(var.name(), null);
+            if (resConcept == null) throw GraknConceptException.variableDoesNotExist(var.toString());
+            tx.recordConceptFacts(resConcept);
+            return Concept.Local.of(resConcept);
+        }
+
+        @Override
+        public Pattern queryPattern() {
+            Pattern pattern = queryPattern;
+            if (pattern == null && !res.getPattern().equals("")) {
+                pattern = tx.parsePattern(res.getPattern());
+                queryPattern = pattern;
+            }
+            return pattern;
+        }
+    }
 }
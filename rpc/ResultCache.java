@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import grakn.client.answer.Answer;
+import grakn.protocol.session.SessionProto;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A session-scoped cache of the answers to read queries, keyed by the query string and the options that change what
+ * the server answers. Entries are weighed by their number of answers: the cache holds at most a given number of
+ * answers in all, evicting the least recently used queries, and a query with more answers than a per-query limit is not
+ * cached at all. An entry is dropped once it is older than the configured time to live.
+ * Answers are collected in the order the server sent them, and only cached once the last one has been read.
+ * Every entry is stamped with the number of WRITE transactions the client had committed when its query was sent, and
+ * is discarded as soon as another one commits. Writes made by other clients are only seen once the entry expires.
+ * The cached answers hold no reference to a transaction, so the same copies are handed out to every reader.
+ */
+public class ResultCache {
+
+    private final Cache<Key, Entry> answers;
+    private final int maximumAnswersPerQuery;
+    private final AtomicLong writeCommits;
+
+    /**
+     * @param writeCommits the number of WRITE transactions committed through the client this cache belongs to
+     */
+    public ResultCache(long maximumAnswers, int maximumAnswersPerQuery, long timeToLive, TimeUnit unit, AtomicLong writeCommits) {
+        if (maximumAnswersPerQuery < 0 || maximumAnswersPerQuery > maximumAnswers) {
+            throw new IllegalArgumentException("The answers cached per query must be between 0 and " + maximumAnswers);
+        }
+        // A single segment, as the maximum weight is split between segments, and a large entry could otherwise be
+        // evicted from its segment as soon as it is cached
+        this.answers = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumAnswers)
+                .weigher((Key key, Entry entry) -> Math.max(entry.answers.size(), 1))
+                .expireAfterWrite(timeToLive, unit)
+                .build();
+        this.maximumAnswersPerQuery = maximumAnswersPerQuery;
+        this.writeCommits = writeCommits;
+    }
+
+    /**
+     * @return the answers cached for the given key, or null if there are none or they may be stale
+     */
+    @Nullable
+    public List<Answer> get(Key key) {
+        Entry entry = answers.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation != writeCommits.get()) {
+            answers.invalidate(key);
+            return null;
+        }
+        return entry.answers;
+    }
+
+    /**
+     * @return a Filler to collect the answers to a query with, which must be created before the query is sent
+     */
+    public Filler filler(Key key) {
+        return new Filler(key, writeCommits.get());
+    }
+
+    /**
+     * Caches the answers to a query, unless a WRITE transaction was committed since the given generation was taken.
+     */
+    private void put(Key key, long generation, List<Answer> queryAnswers) {
+        if (generation == writeCommits.get()) {
+            answers.put(key, new Entry(generation, queryAnswers));
+        }
+    }
+
+    public void invalidate() {
+        answers.invalidateAll();
+    }
+
+    public long size() {
+        return answers.size();
+    }
+
+    /**
+     * Collects the answers to one query as they are read, and caches them once the last one has been, unless there
+     * are more than the cache takes for a single query. It is stamped with the number of WRITE transactions committed
+     * when it was created, so that answers read across a later commit are never cached.
+     *
+     * A parallel stream decodes answers on several threads, so each one is given its place when it is pulled from the
+     * server, and the answers are only cached once every answer pulled has also been decoded.
+     */
+    public class Filler {
+        private final Key key;
+        private final long generation;
+        @Nullable
+        private List<Answer> collected = new ArrayList<>();
+        private final Map<SessionProto.Transaction.Iter.Res, Integer> places = new IdentityHashMap<>();
+        private boolean pulledAll;
+
+        private Filler(Key key, long generation) {
+            this.key = key;
+            this.generation = generation;
+        }
+
+        /**
+         * Takes the next place for the answer in the given response. Called in the order the answers are pulled.
+         */
+        public synchronized void pulled(SessionProto.Transaction.Iter.Res response) {
+            if (collected == null) {
+                return;
+            }
+            if (collected.size() == maximumAnswersPerQuery) {
+                collected = null;
+                places.clear();
+            } else {
+                places.put(response, collected.size());
+                collected.add(null);
+            }
+        }
+
+        /**
+         * Puts the answer decoded from the given response in the place it took when it was pulled.
+         */
+        public synchronized void decoded(SessionProto.Transaction.Iter.Res response, Answer answer) {
+            if (collected == null) {
+                return;
+            }
+            Integer place = places.remove(response);
+            if (place != null) {
+                collected.set(place, answer);
+                putIfComplete();
+            }
+        }
+
+        /**
+         * Called once the server has sent every answer and the consumer has pulled them.
+         */
+        public synchronized void finish() {
+            pulledAll = true;
+            putIfComplete();
+        }
+
+        private void putIfComplete() {
+            if (collected != null && pulledAll && places.isEmpty()) {
+                put(key, generation, Collections.unmodifiableList(collected));
+                collected = null;
+            }
+        }
+    }
+
+    private static class Entry {
+        private final long generation;
+        private final List<Answer> answers;
+
+        Entry(long generation, List<Answer> answers) {
+            this.generation = generation;
+            this.answers = answers;
+        }
+    }
+
+    /**
+     * A query string together with whether reasoning was enabled for it, or null if it was left to the server default.
+     */
+    public static class Key {
+        private final String query;
+        @Nullable
+        private final Boolean infer;
+
+        public Key(String query, @Nullable Boolean infer) {
+            this.query = query;
+            this.infer = infer;
+        }
+
+        public String query() {
+            return query;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return query.equals(other.query) && Objects.equals(infer, other.infer);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + Objects.hashCode(infer);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import grakn.client.exception.GraknClientException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When and how often to replay a query whose transaction failed with a transient gRPC error, such as the
+ * connection dropping while the server restarts. The transaction is reopened and the query sent again after an
+ * exponentially growing, jittered delay. A stream resumes where the consumer left off, by skipping as many
+ * answers as it has already returned. The reopened transaction reads a newer snapshot of the data, so the skipped
+ * answers are compared with those returned, and the stream fails instead of resuming if they differ: answers are
+ * then neither dropped nor repeated, but those after the failure reflect the newer snapshot.
+ *
+ * Only execute() and stream() queries are retried, and only on READ transactions.
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final Set<Status.Code> retryableCodes;
+
+    private RetryPolicy(int maxAttempts, long initialBackoffNanos, long maxBackoffNanos, double jitter, Set<Status.Code> retryableCodes) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Attempts cannot be less than 1, was: " + maxAttempts);
+        }
+        if (maxBackoffNanos < initialBackoffNanos) {
+            throw new IllegalArgumentException("Maximum backoff is less than the initial backoff");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1, was: " + jitter);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.jitter = jitter;
+        this.retryableCodes = retryableCodes;
+    }
+
+    /**
+     * Retry up to a total of maxAttempts attempts, on UNAVAILABLE, starting with a 100ms backoff that doubles
+     * up to 5s, each randomly shortened by up to 20%.
+     */
+    public static RetryPolicy maxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.SECONDS.toNanos(5), 0.2,
+                               Collections.singleton(Status.Code.UNAVAILABLE));
+    }
+
+    public RetryPolicy backoff(long initial, long max, TimeUnit unit) {
+        return new RetryPolicy(maxAttempts, unit.toNanos(initial), unit.toNanos(max), jitter, retryableCodes);
+    }
+
+    /**
+     * @param jitter the largest fraction, between 0 and 1, by which each backoff is randomly shortened
+     */
+    public RetryPolicy jitter(double jitter) {
+        return new RetryPolicy(maxAttempts, initialBackoffNanos, maxBackoffNanos, jitter, retryableCodes);
+    }
+
+    public RetryPolicy retryOn(Status.Code... codes) {
+        return new RetryPolicy(maxAttempts, initialBackoffNanos, maxBackoffNanos, jitter,
+                               Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(codes))));
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return whether the given failure of the given attempt, counting from 1, may be followed by another attempt
+     */
+    public boolean allowsRetry(int attempt, GraknClientException failure) {
+        return attempt < maxAttempts && isTransient(failure);
+    }
+
+    /**
+     * @return whether the failure has one of the status codes this policy retries on
+     */
+    public boolean isTransient(GraknClientException failure) {
+        if (!(failure.getCause() instanceof StatusRuntimeException)) {
+            return false;
+        }
+        return retryableCodes.contains(((StatusRuntimeException) failure.getCause()).getStatus().getCode());
+    }
+
+    /**
+     * @return how long to wait before the given retry, counting from 1
+     */
+    public long backoffNanos(int retry) {
+        long backoff = initialBackoffNanos << Math.min(retry - 1, 30);
+        if (backoff <= 0 || backoff > maxBackoffNanos) {
+            backoff = maxBackoffNanos;
+        }
+        return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
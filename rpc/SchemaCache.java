@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.concept.Concept;
+import grakn.client.concept.ConceptId;
+import grakn.client.concept.Label;
+import grakn.protocol.session.ConceptProto;
+import grakn.protocol.session.SessionProto;
+import graql.lang.Graql;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A session-scoped snapshot of the schema, mapping every type, role and rule label to its concept, and holding the
+ * hierarchy of every schema concept (its sups and subs, and for types their keys, attributes, roles played and roles
+ * related), so that schema lookups can be answered without a round trip.
+ * The snapshot is loaded on first use through whichever transaction needs it, dropped when a transaction of the same
+ * session commits a schema change, and reloaded once it is older than the configured maximum age. The server has no
+ * schema version to compare against, so the maximum age bounds how long changes made by other clients go unseen.
+ */
+public class SchemaCache {
+
+    private static final String[] ROOTS = {
+            Graql.Token.Type.THING.toString(), Graql.Token.Type.ROLE.toString(), Graql.Token.Type.RULE.toString()
+    };
+
+    private static final Set<ConceptProto.Method.Iter.Req.ReqCase> SCHEMA_CONCEPT_METHODS = EnumSet.of(
+            ConceptProto.Method.Iter.Req.ReqCase.SCHEMACONCEPTSUPSITERREQ,
+            ConceptProto.Method.Iter.Req.ReqCase.SCHEMACONCEPTSUBSITERREQ
+    );
+    private static final Set<ConceptProto.Method.Iter.Req.ReqCase> TYPE_METHODS = EnumSet.of(
+            ConceptProto.Method.Iter.Req.ReqCase.TYPEKEYSITERREQ,
+            ConceptProto.Method.Iter.Req.ReqCase.TYPEATTRIBUTESITERREQ,
+            ConceptProto.Method.Iter.Req.ReqCase.TYPEPLAYINGITERREQ
+    );
+    private static final Set<ConceptProto.Method.Iter.Req.ReqCase> RELATION_TYPE_METHODS = EnumSet.of(
+            ConceptProto.Method.Iter.Req.ReqCase.RELATIONTYPEROLESITERREQ
+    );
+
+    private final long maxAgeNanos;
+    private volatile Snapshot snapshot;
+
+    public SchemaCache(long maxAge, TimeUnit unit) {
+        this.maxAgeNanos = unit.toNanos(maxAge);
+    }
+
+    /**
+     * @return the current snapshot, loading it through the given transaction if there is none or it is too old
+     */
+    public Snapshot snapshot(GraknClient.Transaction tx) {
+        Snapshot current = snapshot;
+        if (current == null || current.isOlderThan(maxAgeNanos)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isOlderThan(maxAgeNanos)) {
+                    current = load(tx);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return the current snapshot if one is loaded and not too old, without ever loading one
+     */
+    @Nullable
+    public Snapshot loaded() {
+        Snapshot current = snapshot;
+        return current == null || current.isOlderThan(maxAgeNanos) ? null : current;
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * @return whether the snapshot holds the answers to the given concept method
+     */
+    public static boolean caches(ConceptProto.Method.Iter.Req.ReqCase method) {
+        return SCHEMA_CONCEPT_METHODS.contains(method) || TYPE_METHODS.contains(method) || RELATION_TYPE_METHODS.contains(method);
+    }
+
+    private static Snapshot load(GraknClient.Transaction tx) {
+        Map<Label, ConceptProto.Concept> byLabel = new HashMap<>();
+        Set<ConceptId> ids = new HashSet<>();
+        List<HierarchyRequest> requests = new ArrayList<>();
+        for (String root : ROOTS) {
+            try (Stream<ConceptMap> answers = tx.stream(Graql.match(Graql.var("x").sub(root)).get()).get()) {
+                answers.forEach(answer -> {
+                    Concept<?> schemaConcept = answer.get("x");
+                    byLabel.put(schemaConcept.asSchemaConcept().label(), RequestBuilder.ConceptMessage.from(schemaConcept));
+                    ids.add(schemaConcept.id());
+                    requests.addAll(hierarchyRequests(tx, schemaConcept));
+                });
+            }
+        }
+
+        // Every hierarchy request is already sent, so draining them in order costs one round trip overall
+        Map<ConceptId, Map<ConceptProto.Method.Iter.Req.ReqCase, List<ConceptProto.Method.Iter.Res>>> hierarchy = new HashMap<>();
+        for (HierarchyRequest request : requests) {
+            try (Stream<ConceptProto.Method.Iter.Res> responses = request.responses) {
+                hierarchy.computeIfAbsent(request.id, id -> new EnumMap<>(ConceptProto.Method.Iter.Req.ReqCase.class))
+                        .put(request.method, Collections.unmodifiableList(responses.collect(Collectors.toList())));
+            }
+        }
+        return new Snapshot(byLabel, ids, hierarchy);
+    }
+
+    private static List<HierarchyRequest> hierarchyRequests(GraknClient.Transaction tx, Concept<?> schemaConcept) {
+        Set<ConceptProto.Method.Iter.Req.ReqCase> methods = EnumSet.copyOf(SCHEMA_CONCEPT_METHODS);
+        if (schemaConcept.isType()) {
+            methods.addAll(TYPE_METHODS);
+        }
+        if (schemaConcept.isRelationType()) {
+            methods.addAll(RELATION_TYPE_METHODS);
+        }
+        List<HierarchyRequest> requests = new ArrayList<>();
+        for (ConceptProto.Method.Iter.Req.ReqCase method : methods) {
+            requests.add(new HierarchyRequest(tx, schemaConcept.id(), method));
+        }
+        return requests;
+    }
+
+    private static ConceptProto.Method.Iter.Req iterMethod(ConceptProto.Method.Iter.Req.ReqCase method) {
+        ConceptProto.Method.Iter.Req.Builder builder = ConceptProto.Method.Iter.Req.newBuilder();
+        switch (method) {
+            case SCHEMACONCEPTSUPSITERREQ:
+                return builder.setSchemaConceptSupsIterReq(ConceptProto.SchemaConcept.Sups.Iter.Req.getDefaultInstance()).build();
+            case SCHEMACONCEPTSUBSITERREQ:
+                return builder.setSchemaConceptSubsIterReq(ConceptProto.SchemaConcept.Subs.Iter.Req.getDefaultInstance()).build();
+            case TYPEKEYSITERREQ:
+                return builder.setTypeKeysIterReq(ConceptProto.Type.Keys.Iter.Req.getDefaultInstance()).build();
+            case TYPEATTRIBUTESITERREQ:
+                return builder.setTypeAttributesIterReq(ConceptProto.Type.Attributes.Iter.Req.getDefaultInstance()).build();
+            case TYPEPLAYINGITERREQ:
+                return builder.setTypePlayingIterReq(ConceptProto.Type.Playing.Iter.Req.getDefaultInstance()).build();
+            case RELATIONTYPEROLESITERREQ:
+                return builder.setRelationTypeRolesIterReq(ConceptProto.RelationType.Roles.Iter.Req.getDefaultInstance()).build();
+            default:
+                throw new IllegalArgumentException("Not a schema hierarchy method: " + method);
+        }
+    }
+
+    /**
+     * A hierarchy method sent while loading a snapshot. It goes straight to the server through
+     * Transaction#iterate, since Transaction#iterateConceptMethod would consult the snapshot being loaded.
+     */
+    private static class HierarchyRequest {
+        private final ConceptId id;
+        private final ConceptProto.Method.Iter.Req.ReqCase method;
+        private final Stream<ConceptProto.Method.Iter.Res> responses;
+
+        HierarchyRequest(GraknClient.Transaction tx, ConceptId id, ConceptProto.Method.Iter.Req.ReqCase method) {
+            this.id = id;
+            this.method = method;
+            SessionProto.Transaction.ConceptMethod.Iter.Req conceptIterMethod = SessionProto.Transaction.ConceptMethod.Iter.Req.newBuilder()
+                    .setId(id.getValue()).setMethod(iterMethod(method)).build();
+            SessionProto.Transaction.Iter.Req request = SessionProto.Transaction.Iter.Req.newBuilder()
+                    .setConceptMethodIterReq(conceptIterMethod).build();
+            this.responses = tx.iterate(request, res -> res.getConceptMethodIterRes().getResponse());
+        }
+    }
+
+    /**
+     * An immutable view of the schema at the time it was loaded.
+     */
+    public static class Snapshot {
+        private final Map<Label, ConceptProto.Concept> byLabel;
+        private final Set<ConceptId> ids;
+        private final Map<ConceptId, Map<ConceptProto.Method.Iter.Req.ReqCase, List<ConceptProto.Method.Iter.Res>>> hierarchy;
+        private final long loadedNanos = System.nanoTime();
+
+        Snapshot(Map<Label, ConceptProto.Concept> byLabel, Set<ConceptId> ids,
+                 Map<ConceptId, Map<ConceptProto.Method.Iter.Req.ReqCase, List<ConceptProto.Method.Iter.Res>>> hierarchy) {
+            this.byLabel = Collections.unmodifiableMap(byLabel);
+            this.ids = Collections.unmodifiableSet(ids);
+            this.hierarchy = Collections.unmodifiableMap(hierarchy);
+        }
+
+        /**
+         * @return the schema concept with the given label, or null if the schema has none
+         */
+        @Nullable
+        public ConceptProto.Concept get(Label label) {
+            return byLabel.get(label);
+        }
+
+        /**
+         * @return the responses to the given hierarchy method on the given schema concept, or null if not held
+         */
+        @Nullable
+        public List<ConceptProto.Method.Iter.Res> get(ConceptId id, ConceptProto.Method.Iter.Req.ReqCase method) {
+            Map<ConceptProto.Method.Iter.Req.ReqCase, List<ConceptProto.Method.Iter.Res>> methods = hierarchy.get(id);
+            return methods == null ? null : methods.get(method);
+        }
+
+        public boolean contains(ConceptId id) {
+            return ids.contains(id);
+        }
+
+        boolean isOlderThan(long maxAgeNanos) {
+            return System.nanoTime() - loadedNanos > maxAgeNanos;
+        }
+    }
+}
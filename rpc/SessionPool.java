@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import grakn.client.GraknClient;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hands out one shared session per keyspace, counting how many borrowers each one has. Each borrower gets a Lease of
+ * its own, and gives the session back by closing the lease, which only counts once however often it is closed.
+ * Closing the shared session itself does nothing, as it belongs to the pool. Sessions that no one has borrowed for the
+ * idle timeout are closed in the background, and reopened the next time they are asked for.
+ *
+ * @see GraknClient#sessionPool(long, TimeUnit)
+ */
+public final class SessionPool implements AutoCloseable {
+
+    private final GraknClient client;
+    private final Consumer<SessionPool> onClose;
+    private final long idleTimeoutNanos;
+    private final ConcurrentMap<String, PooledSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param onClose called once the pool is closed, so that its owner can forget it
+     */
+    public SessionPool(GraknClient client, long idleTimeout, TimeUnit unit, Consumer<SessionPool> onClose) {
+        this.client = client;
+        this.onClose = onClose;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grakn-session-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(100));
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Borrows the session for the keyspace, opening it if there is none. Close the lease to give it back.
+     */
+    public Lease borrow(String keyspace) {
+        if (closed) throw new IllegalStateException("The session pool has been closed");
+        PooledSession pooled = sessions.computeIfAbsent(keyspace, k -> new PooledSession());
+        synchronized (pooled) {
+            if (pooled.session == null || !pooled.session.isOpen()) {
+                misses.incrementAndGet();
+                GraknClient.Session session = client.session(keyspace);
+                session.pooledBy(this);
+                pooled.session = session;
+                pooled.references = 0;
+            } else {
+                hits.incrementAndGet();
+            }
+            pooled.references++;
+            return new Lease(pooled, pooled.session);
+        }
+    }
+
+    private void release(PooledSession pooled, GraknClient.Session session) {
+        synchronized (pooled) {
+            if (pooled.session != session) {
+                // Closed by someone else and since replaced, so this borrow no longer counts towards the new one
+                session.closeSession();
+                return;
+            }
+            if (--pooled.references == 0) {
+                pooled.idleSinceNanos = System.nanoTime();
+                if (closed) evict(pooled);
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        for (PooledSession pooled : sessions.values()) {
+            synchronized (pooled) {
+                if (pooled.session != null && pooled.references == 0 && now - pooled.idleSinceNanos >= idleTimeoutNanos) {
+                    evict(pooled);
+                }
+            }
+        }
+    }
+
+    private void evict(PooledSession pooled) {
+        GraknClient.Session session = pooled.session;
+        pooled.session = null;
+        evictions.incrementAndGet();
+        try {
+            session.closeSession();
+        } catch (RuntimeException e) {
+            // The session is unusable either way, and the server will expire it
+        }
+    }
+
+    public Stats stats() {
+        int open = 0;
+        int borrowed = 0;
+        for (PooledSession pooled : sessions.values()) {
+            synchronized (pooled) {
+                if (pooled.session != null) {
+                    open++;
+                    borrowed += pooled.references;
+                }
+            }
+        }
+        return new Stats(open, borrowed, hits.get(), misses.get(), evictions.get());
+    }
+
+    /**
+     * Closes every session that is not borrowed now, and every other session when it is given back.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        evictor.shutdownNow();
+        for (PooledSession pooled : sessions.values()) {
+            synchronized (pooled) {
+                if (pooled.session != null && pooled.references == 0) {
+                    evict(pooled);
+                }
+            }
+        }
+        onClose.accept(this);
+    }
+
+    /**
+     * One borrow of a pooled session. Closing the lease gives the session back, and closing it again does nothing.
+     */
+    public final class Lease implements AutoCloseable {
+        private final PooledSession pooled;
+        private final GraknClient.Session session;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(PooledSession pooled, GraknClient.Session session) {
+            this.pooled = pooled;
+            this.session = session;
+        }
+
+        public GraknClient.Session session() {
+            if (released.get()) throw new IllegalStateException("The session has been given back to the pool");
+            return session;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(pooled, session);
+            }
+        }
+    }
+
+    private static class PooledSession {
+        private GraknClient.Session session;
+        private int references;
+        private long idleSinceNanos;
+    }
+
+    /**
+     * A point-in-time view of the pool's counters.
+     */
+    public static final class Stats {
+        private final int openSessions;
+        private final int borrowedSessions;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        Stats(int openSessions, int borrowedSessions, long hits, long misses, long evictions) {
+            this.openSessions = openSessions;
+            this.borrowedSessions = borrowedSessions;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        /**
+         * @return the number of sessions the pool holds open, borrowed or not
+         */
+        public int openSessions() {
+            return openSessions;
+        }
+
+        /**
+         * @return the number of borrows not yet given back, across all sessions
+         */
+        public int borrowedSessions() {
+            return borrowedSessions;
+        }
+
+        /**
+         * @return the number of borrows served by a session that was already open
+         */
+        public long hits() {
+            return hits;
+        }
+
+        /**
+         * @return the number of borrows that had to open a session
+         */
+        public long misses() {
+            return misses;
+        }
+
+        /**
+         * @return the number of sessions closed by the pool
+         */
+        public long evictions() {
+            return evictions;
+        }
+
+        @Override
+        public String toString() {
+            return "SessionPool.Stats{openSessions=" + openSessions + ", borrowedSessions=" + borrowedSessions +
+                    ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.rpc;
+
+import grakn.client.GraknClient;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a number of READ transactions of a session open and ready to use. Each borrower gets a Lease of its own, and
+ * gives the transaction back by closing the lease, which only gives it back once however often it is closed. Closing
+ * the pooled transaction itself does nothing, as it belongs to the pool. A transaction that has failed, is older than the maximum age or has run the maximum number of queries
+ * is closed instead of being reused, and a fresh one is opened in the background to take its place. A transaction is
+ * given back with the answers its borrower left unread discarded, so that the next borrower's queries are not held
+ * back behind them.
+ *
+ * @see GraknClient.Session#readTransactionPool(int, long, TimeUnit, int)
+ */
+public final class TransactionPool implements AutoCloseable {
+
+    private final GraknClient.Session session;
+    private final Consumer<TransactionPool> onClose;
+    private final BlockingQueue<GraknClient.Transaction> ready;
+    private final long maxAgeNanos;
+    private final int maxQueries;
+    private final ExecutorService refiller;
+    private volatile boolean closed;
+
+    /**
+     * @param onClose called once the pool is closed, so that its owner can forget it
+     */
+    public TransactionPool(GraknClient.Session session, int size, long maxAge, TimeUnit unit, int maxQueries,
+                           Consumer<TransactionPool> onClose) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A transaction pool needs at least one transaction, but the size given was " + size);
+        }
+        this.session = session;
+        this.onClose = onClose;
+        this.ready = new ArrayBlockingQueue<>(size);
+        this.maxAgeNanos = unit.toNanos(maxAge);
+        this.maxQueries = maxQueries;
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grakn-transaction-pool-refiller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < size; i++) {
+            ready.offer(open());
+        }
+    }
+
+    /**
+     * Borrows a READ transaction, opening one if none is ready. Close the lease to give it back.
+     */
+    public Lease borrow() {
+        if (closed) throw new IllegalStateException("The transaction pool has been closed");
+        GraknClient.Transaction tx;
+        while ((tx = ready.poll()) != null) {
+            if (isReusable(tx)) return new Lease(tx);
+            discard(tx);
+        }
+        return new Lease(open());
+    }
+
+    private GraknClient.Transaction open() {
+        GraknClient.Transaction tx = session.transaction().read();
+        tx.pooledBy(this);
+        return tx;
+    }
+
+    private boolean isReusable(GraknClient.Transaction tx) {
+        return tx.isOpen() && tx.ageNanos() < maxAgeNanos && tx.queryCount() < maxQueries;
+    }
+
+    private void release(GraknClient.Transaction tx) {
+        if (!closed && isReusable(tx)) {
+            tx.discardUnfinished();
+            if (ready.offer(tx)) return;
+        }
+        discard(tx);
+    }
+
+    private void discard(GraknClient.Transaction tx) {
+        tx.closeTransaction();
+        if (!closed) {
+            try {
+                refiller.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                // The pool was closed meanwhile, so there is nothing to refill
+            }
+        }
+    }
+
+    private void refill() {
+        if (closed || ready.remainingCapacity() == 0) return;
+        GraknClient.Transaction tx;
+        try {
+            tx = open();
+        } catch (RuntimeException e) {
+            return; // The next borrower opens a transaction, and sees the error
+        }
+        if (closed || !ready.offer(tx)) {
+            tx.closeTransaction();
+        }
+    }
+
+    /**
+     * Closes every transaction that is ready now, and every borrowed transaction when it is given back.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        GraknClient.Transaction tx;
+        while ((tx = ready.poll()) != null) {
+            tx.closeTransaction();
+        }
+        refiller.shutdownNow();
+        onClose.accept(this);
+    }
+
+    /**
+     * One borrow of a pooled transaction. Closing the lease gives the transaction back, and closing it again does
+     * nothing, so a transaction is never given back by a borrower who no longer holds it.
+     */
+    public final class Lease implements AutoCloseable {
+        private final GraknClient.Transaction tx;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(GraknClient.Transaction tx) {
+            this.tx = tx;
+        }
+
+        public GraknClient.Transaction transaction() {
+            if (released.get()) throw new IllegalStateException("The transaction has been given back to the pool");
+            return tx;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(tx);
+            }
+        }
+    }
+}
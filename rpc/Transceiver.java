@@ -27,17 +27,28 @@ import grakn.protocol.session.SessionProto;
 import grakn.protocol.session.SessionProto.Transaction;
 import grakn.protocol.session.SessionServiceGrpc;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 
@@ -62,6 +73,9 @@ public class Transceiver implements AutoCloseable {
 
     private final StreamObserver<Transaction.Req> requestSender;
     private final ResponseListener responseListener;
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sendersWaiting = new AtomicInteger();
+    private final Set<MultiResponseCollector> unfinished = ConcurrentHashMap.newKeySet();
 
     private Transceiver(StreamObserver<Transaction.Req> requestSender, ResponseListener responseListener) {
         this.requestSender = requestSender;
@@ -69,25 +83,70 @@ public class Transceiver implements AutoCloseable {
     }
 
     public static Transceiver create(SessionServiceGrpc.SessionServiceStub stub) {
-        ResponseListener responseListener = new ResponseListener();
+        return create(stub, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a Transceiver that stops reading responses off the wire while collectors hold more than
+     * maxBufferedResponses responses, or more than maxBufferedBytes serialised bytes, that have not been taken.
+     * Responses are delivered in order, so a collector that is never drained holds back every later response until
+     * it is discarded, which #discardUnfinished() does, and #close() does for every collector still holding responses
+     * when buffering is bounded.
+     */
+    public static Transceiver create(SessionServiceGrpc.SessionServiceStub stub, int maxBufferedResponses, long maxBufferedBytes) {
+        InboundFlowControl flowControl = null;
+        if (maxBufferedResponses != Integer.MAX_VALUE || maxBufferedBytes != Long.MAX_VALUE) {
+            flowControl = new InboundFlowControl(maxBufferedResponses, maxBufferedBytes);
+        }
+        ResponseListener responseListener = new ResponseListener(flowControl);
         StreamObserver<Transaction.Req> requestSender = stub.transaction(responseListener);
+        if (flowControl != null) {
+            flowControl.refill();
+        }
         return new Transceiver(requestSender, responseListener);
     }
 
     /**
      * Send a request and return immediately.
-         * This method is non-blocking - it returns immediately.
+     * This method is non-blocking and lock-free: requests from any number of threads are queued, and whichever
+     * thread finds no other sender active drains the queue, so requests go out one at a time and in queue order.
      */
     private void send(Transaction.Req request, ResponseCollector collector) {
         if (responseListener.terminated.get()) {
             throw GraknClientException.connectionClosed();
         }
         LOG.trace("send:{}", request);
+        if (collector instanceof MultiResponseCollector) {
+            MultiResponseCollector multiCollector = (MultiResponseCollector) collector;
+            multiCollector.flowControl = responseListener.flowControl;
+            multiCollector.unfinished = unfinished;
+            unfinished.add(multiCollector);
+        }
 
+        pendingRequests.add(new PendingRequest(request, collector));
+        if (sendersWaiting.getAndIncrement() != 0) {
+            return; // The thread currently draining will send this request
+        }
+        int missed = 1;
+        do {
+            PendingRequest pending;
+            while ((pending = pendingRequests.poll()) != null) {
+                sendPending(pending);
+            }
+            missed = sendersWaiting.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void sendPending(PendingRequest pending) {
         // We must add the response collectors in exact the same order we send the requests
-        synchronized (this) {
-            responseListener.addCollector(collector); // Must add collector first to be watertight
-            requestSender.onNext(request);
+        responseListener.addCollector(pending.collector); // Must add collector first to be watertight
+        try {
+            requestSender.onNext(pending.request);
+        } catch (RuntimeException e) {
+            // The stream is unusable; fail this collector rather than leave it waiting for a response that won't come
+            if (responseListener.removeCollector(pending.collector)) {
+                pending.collector.onResponse(Response.error(e));
+            }
         }
     }
 
@@ -99,14 +158,49 @@ public class Transceiver implements AutoCloseable {
         }
     }
 
-    public void sendAndReceiveMultipleAsync(Transaction.Req request, MultiResponseCollector collector) {
+    /**
+     * Send a request and return a future for its single response, without blocking.
+     * The future is completed on the GRPC thread, so dependent stages that are not *Async run there and must not block.
+     */
+    public CompletableFuture<Transaction.Res> sendAsync(Transaction.Req request) {
+        try (ThreadTrace trace = traceOnThread("sendAsync")) {
+            FutureResponseCollector collector = new FutureResponseCollector();
+            try {
+                send(request, collector);
+            } catch (GraknClientException e) {
+                collector.future.completeExceptionally(e);
+            }
+            return collector.future;
+        }
+    }
+
+    public void sendAndReceiveMultipleAsync(Transaction.Req request, ResponseCollector collector) {
         try (ThreadTrace trace = GrablTracingThreadStatic.traceOnThread("sendAndReceiveMultipleAsync")) {
             send(request, collector);
         }
     }
 
+    /**
+     * Discard every multi-response collector whose responses have not all been taken, releasing the responses they
+     * hold and dropping those still to arrive, so that responses to later requests are not held back behind them.
+     */
+    public void discardUnfinished() {
+        unfinished.forEach(MultiResponseCollector::discard);
+    }
+
+    /**
+     * @return true if this Transceiver stops reading responses while too many are buffered, so that an unfinished
+     * collector can hold back the responses to later requests
+     */
+    public boolean isBufferingBounded() {
+        return responseListener.flowControl != null;
+    }
+
     @Override
     public void close() {
+        if (isBufferingBounded()) {
+            discardUnfinished();
+        }
         try {
             requestSender.onCompleted();
             responseListener.onCompleted();
@@ -123,10 +217,21 @@ public class Transceiver implements AutoCloseable {
         return !responseListener.terminated.get();
     }
 
+    private static class PendingRequest {
+        private final Transaction.Req request;
+        private final ResponseCollector collector;
+
+        PendingRequest(Transaction.Req request, ResponseCollector collector) {
+            this.request = request;
+            this.collector = collector;
+        }
+    }
+
     /**
-     * Interface for collecting responses from a specific request
+     * Interface for collecting responses from a specific request.
+     * Responses are delivered on the GRPC thread, so implementations must not block.
      */
-    interface ResponseCollector {
+    public interface ResponseCollector {
         /**
          * Collect a response.
          * @param response the next response for this collector to collect.
@@ -155,25 +260,80 @@ public class Transceiver implements AutoCloseable {
         }
     }
 
+    /**
+     * Response collector completing a future when a single result is expected.
+     */
+    private static class FutureResponseCollector implements ResponseCollector {
+        private final CompletableFuture<SessionProto.Transaction.Res> future = new CompletableFuture<>();
+
+        @Override
+        public boolean onResponse(Response response) {
+            try {
+                future.complete(response.ok());
+            } catch (GraknClientException e) {
+                future.completeExceptionally(e);
+            }
+            return true;
+        }
+    }
+
     /**
      * Advanced abstract multi-response collector. The {@link #isLastResponse(Transaction.Res)} method must be
      * overridden in a sub-class because the last response must be known by the GRPC response receiving thread in order
      * to keep it from blocking other collectors for later responses.
      */
     public static abstract class MultiResponseCollector implements ResponseCollector {
+        private static final Response DISCARDED = Response.completed();
+
         private volatile boolean started;
+        private volatile boolean discarded;
+        private volatile InboundFlowControl flowControl;
+        private volatile Set<MultiResponseCollector> unfinished;
+        private volatile Response last;
         private final BlockingQueue<Response> received = new LinkedBlockingQueue<>();
 
         @Override
         public boolean onResponse(Response response) {
-            started = true;
-            received.add(response);
+            // Decide on the last response before queueing it, so anything isLastResponse does is visible to the consumer
             SessionProto.Transaction.Res nullableRes = response.nullableOk();
-            return nullableRes == null || isLastResponse(nullableRes);
+            boolean isLast = nullableRes == null || isLastResponse(nullableRes);
+            if (isLast) {
+                last = response;
+            }
+            started = true;
+            synchronized (this) {
+                if (!discarded) {
+                    if (flowControl != null) {
+                        flowControl.buffered(size(response));
+                    }
+                    received.add(response);
+                }
+            }
+            return isLast;
+        }
+
+        /**
+         * Stop buffering responses for this collector and release those already received. Responses still in flight
+         * are consumed and dropped, so collectors for later requests are not held up.
+         * Any thread blocked in #take() or #poll(long, TimeUnit) is woken with a CancellationException.
+         */
+        public void discard() {
+            // Under the same lock as buffering, so no response can be queued after the drain and keep its credit
+            synchronized (this) {
+                if (discarded) {
+                    return;
+                }
+                discarded = true;
+                List<Response> dropped = new ArrayList<>();
+                received.drainTo(dropped);
+                received.add(DISCARDED);
+                dropped.forEach(this::released);
+            }
+            finished();
         }
 
         public SessionProto.Transaction.Res take() throws InterruptedException {
-            return received.take().ok();
+            return released(received.take()).ok();
         }
 
         public SessionProto.Transaction.Res poll(long timeout, TimeUnit unit) throws InterruptedException,
@@ -182,17 +342,44 @@ public class Transceiver implements AutoCloseable {
             if (response == null) {
                 throw new TimeoutException();
             } else {
-                return response.ok();
+                return released(response).ok();
+            }
+        }
+
+        private Response released(Response response) {
+            if (response == DISCARDED) {
+                received.add(DISCARDED); // Keep waking up any later caller
+                throw new CancellationException();
+            }
+            if (flowControl != null) {
+                flowControl.released(size(response));
+            }
+            if (response == last) {
+                finished();
+            }
+            return response;
+        }
+
+        private void finished() {
+            Set<MultiResponseCollector> tracking = unfinished;
+            if (tracking != null) {
+                tracking.remove(this);
             }
         }
 
+        private static long size(Response response) {
+            SessionProto.Transaction.Res res = response.nullableOk();
+            return res == null ? 0 : res.getSerializedSize();
+        }
+
         public boolean isStarted() {
             return started;
         }
 
         /**
          * Implement to inform the GRPC thread when it has received the last response.
-         * This is called from the GRPC thread, not the main client thread.
+         * This is called from the GRPC thread, not the main client thread, before the response is made available
+         * to #take().
          *
          * @param response The next response.
          * @return true if this is the last response, false if more responses are expected.
@@ -200,26 +387,103 @@ public class Transceiver implements AutoCloseable {
         protected abstract boolean isLastResponse(SessionProto.Transaction.Res response);
     }
 
+    /**
+     * Manual inbound flow control for the transaction stream: more responses are requested from gRPC only while
+     * the responses buffered in collectors, plus those already requested, stay within the configured bounds.
+     * The size of a response is not known until it arrives, so when a byte bound is set responses are requested one
+     * at a time, and the next is only requested while the bytes buffered are below the bound.
+     */
+    private static class InboundFlowControl {
+
+        private final int maxBufferedResponses;
+        private final long maxBufferedBytes;
+        private ClientCallStreamObserver<Transaction.Req> call;
+        private int requested;
+        private int bufferedResponses;
+        private long bufferedBytes;
+        private boolean stopped;
+
+        InboundFlowControl(int maxBufferedResponses, long maxBufferedBytes) {
+            this.maxBufferedResponses = maxBufferedResponses;
+            this.maxBufferedBytes = maxBufferedBytes;
+        }
+
+        synchronized void start(ClientCallStreamObserver<Transaction.Req> call) {
+            this.call = call;
+            call.disableAutoInboundFlowControl();
+        }
+
+        synchronized void delivered() {
+            requested--;
+        }
+
+        synchronized void buffered(long bytes) {
+            bufferedResponses++;
+            bufferedBytes += bytes;
+        }
+
+        synchronized void released(long bytes) {
+            bufferedResponses--;
+            bufferedBytes -= bytes;
+            refill();
+        }
+
+        synchronized void stop() {
+            stopped = true;
+        }
+
+        synchronized void refill() {
+            if (stopped || bufferedBytes >= maxBufferedBytes) {
+                return;
+            }
+            int limit = maxBufferedResponses - bufferedResponses;
+            if (maxBufferedBytes != Long.MAX_VALUE) {
+                limit = Math.min(limit, 1);
+            }
+            int more = limit - requested;
+            if (more > 0) {
+                requested += more;
+                call.request(more);
+            }
+        }
+    }
+
     /**
      * A StreamObserver that pushes received responses to the corresponding collector.
      */
-    private static class ResponseListener implements StreamObserver<Transaction.Res> {
+    private static class ResponseListener implements ClientResponseObserver<Transaction.Req, Transaction.Res> {
 
         private ResponseCollector currentCollector;
-        private final BlockingQueue<ResponseCollector> collectorQueue = new LinkedBlockingQueue<>();
+        private final Queue<ResponseCollector> collectorQueue = new ConcurrentLinkedQueue<>();
         private final AtomicBoolean terminated = new AtomicBoolean(false);
+        @Nullable
+        private final InboundFlowControl flowControl;
+
+        ResponseListener(@Nullable InboundFlowControl flowControl) {
+            this.flowControl = flowControl;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Transaction.Req> requestStream) {
+            if (flowControl != null) {
+                flowControl.start(requestStream);
+            }
+        }
 
         void addCollector(ResponseCollector collector) {
             collectorQueue.add(collector);
         }
 
+        boolean removeCollector(ResponseCollector collector) {
+            return collectorQueue.remove(collector);
+        }
+
         private void dispatchResponse(Response res) {
             if (currentCollector == null) {
-                try {
-                    currentCollector = collectorQueue.take();
-                } catch (InterruptedException e) {
+                currentCollector = collectorQueue.poll();
+                if (currentCollector == null) {
                     terminated.set(true);
-                    throw new IllegalStateException("Interrupted whilst waiting for a result collector, " +
+                    throw new IllegalStateException("No result collector for a response, " +
                             "should never happen since response collectors are queued before send.");
                 }
             }
@@ -231,12 +495,21 @@ public class Transceiver implements AutoCloseable {
 
         @Override
         public void onNext(Transaction.Res value) {
+            if (flowControl != null) {
+                flowControl.delivered();
+            }
             dispatchResponse(Response.ok(value));
+            if (flowControl != null) {
+                flowControl.refill();
+            }
         }
 
         @Override
         public void onError(Throwable throwable) {
             terminated.set(true);
+            if (flowControl != null) {
+                flowControl.stop();
+            }
             assert throwable instanceof StatusRuntimeException : "The server only yields these exceptions";
 
             // Exhaust the queue
@@ -248,6 +521,9 @@ public class Transceiver implements AutoCloseable {
         @Override
         public void onCompleted() {
             terminated.set(true);
+            if (flowControl != null) {
+                flowControl.stop();
+            }
 
             // Exhaust the queue
             while (currentCollector != null || collectorQueue.peek() != null) {
@@ -26,7 +26,6 @@ import grakn.client.exception.GraknClientException;
 import grakn.client.test.setup.GraknProperties;
 import grakn.client.test.setup.GraknSetup;
 import graql.lang.Graql;
-import graql.lang.query.GraqlInsert;
 import graql.lang.statement.Variable;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -34,13 +33,17 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import static grakn.client.GraknClient.Transaction.BatchSize.ALL;
 import static grakn.client.GraknClient.Transaction.Options.batchSize;
 import static grakn.client.GraknClient.Transaction.Options.infer;
 import static grakn.client.GraknClient.Transaction.Options.explain;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
 import static graql.lang.Graql.Token.ValueType.STRING;
 import static graql.lang.Graql.define;
 import static graql.lang.Graql.insert;
@@ -322,14 +325,75 @@ public class AnswerIT {
         }
     }
 
-    private void setupLotsOfPeople(GraknClient.Session session, int numberOfPeople) {
-        try (GraknClient.Transaction tx = session.transaction().write()) {
-            tx.execute(Graql.parse("define person sub entity;").asDefine());
-            GraqlInsert personInsert = Graql.parse("insert $p isa person;");
-            for (int i = 0; i < numberOfPeople; i++) {
-                tx.execute(personInsert);
+    @Test
+    public void whenQueryingWithAdaptiveBatchSize_runsCorrectlyWithinBounds() {
+        try (GraknClient.Session session = client.session("batch_size_adaptive")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                List<Integer> batchSizes = new ArrayList<>();
+                GraknClient.Transaction.AdaptiveBatchSize adaptive = GraknClient.Transaction.AdaptiveBatchSize.between(5, 200)
+                        .listener((batchSize, roundTripNanos, answers, consumerNanos) -> batchSizes.add(batchSize));
+
+                assertEquals(999, tx.execute(Graql.match(var("p").isa("person")).get(), batchSize(adaptive)).get().size());
+                assertFalse(batchSizes.isEmpty());
+                batchSizes.forEach(size -> assertTrue(size >= 5 && size <= 200));
+            }
+        }
+    }
+
+    @Test
+    public void whenPrefetchingWithAdaptiveBatchSize_prefetchedBatchesAreSizedFromTheBatchTheyFollow() {
+        try (GraknClient.Session session = client.session("batch_size_adaptive_prefetch")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+                List<Long> roundTrips = new CopyOnWriteArrayList<>();
+                GraknClient.Transaction.AdaptiveBatchSize adaptive = GraknClient.Transaction.AdaptiveBatchSize.between(5, 200)
+                        .listener((batchSize, roundTripNanos, answers, consumerNanos) -> {
+                            batchSizes.add(batchSize);
+                            roundTrips.add(roundTripNanos);
+                        });
+
+                assertEquals(999, tx.execute(Graql.match(var("p").isa("person")).get(), batchSize(adaptive).prefetch(1)).get().size());
+                assertFalse(batchSizes.isEmpty());
+                batchSizes.forEach(size -> assertTrue(size >= 5 && size <= 200));
+                roundTrips.forEach(roundTrip -> assertTrue(roundTrip > 0));
+                assertTrue(batchSizes.get(batchSizes.size() - 1) > 5);
+            }
+        }
+    }
+
+    @Test
+    public void whenCancellingAQuery_laterQueriesOnTheTransactionStillComplete() {
+        try (GraknClient.Session session = client.session("cancel_query")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                GraknClient.Transaction.QueryFuture<List<ConceptMap>> cancelled = tx.execute(Graql.match(var("p").isa("person")).get(), batchSize(10));
+                assertTrue(cancelled.cancel(false));
+                assertTrue(cancelled.isCancelled());
+                assertFalse(cancelled.cancel(false));
+
+                try (Stream<ConceptMap> answers = tx.stream(Graql.match(var("p").isa("person")).get(), batchSize(10)).get()) {
+                    assertEquals(5, answers.limit(5).count());
+                }
+
+                assertEquals(999, tx.execute(Graql.match(var("p").isa("person")).get()).get().size());
+            }
+        }
+    }
+
+    @Test
+    public void whenQueryingWithBatchSizeAllAndBoundedBuffer_runsCorrectly() {
+        try (GraknClient.Session session = client.session("bounded_buffer")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().maxBufferedResponses(16).read()) {
+                assertEquals(999, tx.execute(Graql.match(var("p").isa("person")).get(), batchSize(ALL)).get().size());
+                assertEquals(999, tx.stream(Graql.match(var("p").isa("person")).get(), batchSize(50)).get().count());
             }
-            tx.commit();
         }
     }
 }
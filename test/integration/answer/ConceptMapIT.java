@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.answer;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.concept.Concept;
+import grakn.client.concept.GraknConceptException;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import graql.lang.pattern.Pattern;
+import graql.lang.statement.Variable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static grakn.client.GraknClient.Transaction.Options.explain;
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for how ConceptMaps are decoded from the answers the server sends, which is done lazily, one
+ * variable at a time until the whole map is needed
+ */
+public class ConceptMapIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenAnswersCarryTheSameQueryPattern_itIsParsedOncePerTransaction() {
+        try (GraknClient.Session session = client.session("concept_map_pattern")) {
+            setupLotsOfPeople(session, 10);
+
+            Pattern pattern;
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                List<ConceptMap> answers = tx.execute(ALL_PEOPLE, explain(true)).get();
+                assertEquals(10, answers.size());
+                pattern = answers.get(0).queryPattern();
+                assertNotNull(pattern);
+                answers.forEach(answer -> assertSame(pattern, answer.queryPattern()));
+                assertSame(pattern, tx.execute(ALL_PEOPLE, explain(true)).get().get(0).queryPattern());
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                Pattern reparsed = tx.execute(ALL_PEOPLE, explain(true)).get().get(0).queryPattern();
+                assertEquals(pattern, reparsed);
+                assertNotSame(pattern, reparsed);
+            }
+        }
+    }
+
+    @Test
+    public void whenParsingAPatternTwice_theFirstParseIsReused() {
+        try (GraknClient.Session session = client.session("concept_map_parse");
+             GraknClient.Transaction tx = session.transaction().read()) {
+            Pattern pattern = tx.parsePattern("$p isa person;");
+            assertEquals(Graql.parsePattern("$p isa person;"), pattern);
+            assertSame(pattern, tx.parsePattern("$p isa person;"));
+        }
+    }
+
+    @Test
+    public void whenReadingSingleVariables_theyMatchTheFullyDecodedMap() {
+        try (GraknClient.Session session = client.session("concept_map_lazy")) {
+            setupNamedPeople(session, 10);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                List<ConceptMap> answers = tx.execute(Graql.match(var("p").isa("person").has("name", var("n"))).get()).get();
+                assertEquals(10, answers.size());
+                for (ConceptMap answer : answers) {
+                    Concept<?> person = answer.get("p");
+                    Concept<?> name = answer.get(new Variable("n"));
+                    assertEquals(person, answer.map().get(new Variable("p")));
+                    assertEquals(name, answer.map().get(new Variable("n")));
+                    assertEquals(2, answer.map().size());
+                    assertFalse(person.isRemote());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whenReadingAVariableTheAnswerDoesNotHave_itThrowsBeforeAndAfterTheMapIsDecoded() {
+        try (GraknClient.Session session = client.session("concept_map_missing")) {
+            setupLotsOfPeople(session, 1);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                ConceptMap answer = tx.execute(ALL_PEOPLE).get().get(0);
+                assertVariableDoesNotExist(answer, "q");
+                answer.map();
+                assertVariableDoesNotExist(answer, "q");
+            }
+        }
+    }
+
+    @Test
+    public void whenTheMapIsDecoded_itIsDecodedOnceAndCannotBeModified() {
+        try (GraknClient.Session session = client.session("concept_map_decoded")) {
+            setupLotsOfPeople(session, 1);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                ConceptMap answer = tx.execute(ALL_PEOPLE).get().get(0);
+                Map<Variable, Concept<?>> map = answer.map();
+                assertSame(map, answer.map());
+                try {
+                    map.remove(new Variable("p"));
+                    fail("The decoded map should not be modifiable");
+                } catch (UnsupportedOperationException e) {
+                    assertEquals(1, answer.map().size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whenComparedWithAnEagerlyBuiltConceptMap_aLazilyDecodedOneIsEqual() {
+        try (GraknClient.Session session = client.session("concept_map_equality")) {
+            setupLotsOfPeople(session, 3);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                for (ConceptMap answer : tx.execute(ALL_PEOPLE).get()) {
+                    ConceptMap eager = new ConceptMap(answer.map(), answer.queryPattern(), false, tx);
+                    assertEquals(eager, answer);
+                    assertEquals(answer, eager);
+                    assertEquals(eager.hashCode(), answer.hashCode());
+                    assertEquals(eager.toString(), answer.toString());
+                }
+            }
+        }
+    }
+
+    private static void assertVariableDoesNotExist(ConceptMap answer, String variable) {
+        try {
+            answer.get(variable);
+            fail("Reading a variable the answer does not have should throw");
+        } catch (GraknConceptException e) {
+            assertEquals(GraknConceptException.variableDoesNotExist(new Variable(variable).toString()).getMessage(), e.getMessage());
+        }
+    }
+
+    private static void setupNamedPeople(GraknClient.Session session, int numberOfPeople) {
+        try (GraknClient.Transaction tx = session.transaction().write()) {
+            tx.execute(Graql.parse("define person sub entity, has name; name sub attribute, datatype string;").asDefine());
+            for (int i = 0; i < numberOfPeople; i++) {
+                tx.execute(Graql.insert(var("p").isa("person").has("name", "person " + i)));
+            }
+            tx.commit();
+        }
+    }
+}
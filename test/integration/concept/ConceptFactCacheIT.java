@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.concept;
+
+import grakn.client.GraknClient;
+import grakn.client.concept.Label;
+import grakn.client.concept.thing.Entity;
+import grakn.client.concept.type.EntityType;
+import grakn.client.exception.GraknClientException;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for the per-transaction cache of concept facts
+ */
+public class ConceptFactCacheIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenAFactIsAskedForAgain_itIsAnsweredFromTheCache() {
+        try (GraknClient.Session session = client.session("fact_cache_hit")) {
+            try (GraknClient.Transaction tx = session.transaction().cacheConceptFacts(true).write()) {
+                EntityType.Remote person = tx.putEntityType("person");
+                Entity.Remote alice = person.create();
+
+                assertEquals(person, alice.type());
+                long hits = tx.conceptFactCacheHits();
+                assertEquals(person, alice.type());
+                assertEquals(Label.of("person"), person.label());
+                assertEquals(Label.of("person"), person.label());
+                assertTrue(tx.conceptFactCacheHits() >= hits + 2);
+            }
+        }
+    }
+
+    @Test
+    public void whenAConceptIsRelabelled_itsNewLabelIsReturned() {
+        try (GraknClient.Session session = client.session("fact_cache_relabel")) {
+            try (GraknClient.Transaction tx = session.transaction().cacheConceptFacts(true).write()) {
+                EntityType.Remote person = tx.putEntityType("person");
+                assertEquals(Label.of("person"), person.label());
+
+                person.label(Label.of("human"));
+                assertEquals(Label.of("human"), person.label());
+            }
+        }
+    }
+
+    @Test
+    public void whenAConceptIsDeleted_itsFactsAreNoLongerServedFromTheCache() {
+        try (GraknClient.Session session = client.session("fact_cache_delete")) {
+            try (GraknClient.Transaction tx = session.transaction().cacheConceptFacts(true).write()) {
+                EntityType.Remote person = tx.putEntityType("person");
+                Entity.Remote alice = person.create();
+                alice.type();
+                alice.type();
+
+                alice.delete();
+                long hits = tx.conceptFactCacheHits();
+                try {
+                    alice.type();
+                } catch (GraknClientException e) {
+                    // The server may refuse to answer for a deleted concept; either way it must have been asked
+                }
+                assertEquals(hits, tx.conceptFactCacheHits());
+            }
+        }
+    }
+
+    @Test
+    public void whenATypeIsRelabelled_theCachedTypeOfItsInstancesDoesNotBringBackTheOldLabel() {
+        try (GraknClient.Session session = client.session("fact_cache_embedded")) {
+            try (GraknClient.Transaction tx = session.transaction().cacheConceptFacts(true).write()) {
+                EntityType.Remote person = tx.putEntityType("person");
+                Entity.Remote alice = person.create();
+                // Caches the type of alice, which embeds the label of person
+                assertEquals(Label.of("person"), alice.type().label());
+
+                person.label(Label.of("human"));
+                assertEquals(Label.of("human"), alice.type().label());
+                assertEquals(Label.of("human"), person.label());
+            }
+        }
+    }
+}
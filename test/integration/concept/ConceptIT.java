@@ -48,12 +48,14 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -255,6 +257,43 @@ public class ConceptIT {
         assertEquals(TWENTY, age20.value());
     }
 
+    @Test
+    public void whenCallingGetValueAsync_GetTheExpectedResult() {
+        CompletableFuture<String> emailOfAlice = emailAlice.valueAsync();
+        CompletableFuture<String> nameOfBob = nameBob.valueAsync();
+        CompletableFuture<Integer> twenty = age20.valueAsync();
+        assertEquals(ALICE_EMAIL + EMAIL_COUNTER, emailOfAlice.join());
+        assertEquals(BOB, nameOfBob.join());
+        assertEquals(TWENTY, twenty.join());
+    }
+
+    @Test
+    public void whenCallingGetTypeAsync_GetTheExpectedResult() {
+        assertEquals(person, alice.typeAsync().join());
+        assertEquals(email, emailAlice.typeAsync().join());
+        assertEquals(marriage, aliceAndBob.typeAsync().join());
+    }
+
+    @Test
+    public void whenCallingIsInferredAsyncOnInsertedThings_ReturnFalse() {
+        assertFalse(alice.isInferredAsync().join());
+        assertFalse(nameAlice.isInferredAsync().join());
+        assertFalse(aliceAndBob.isInferredAsync().join());
+    }
+
+    @Test
+    public void whenPipeliningManyAsyncCalls_EachGetsItsOwnResult() {
+        List<Attribute.Remote<?>> attributes = Arrays.asList(emailAlice, emailBob, nameAlice, nameBob, age20);
+        List<CompletableFuture<?>> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(attributes.get(i % attributes.size()).valueAsync());
+        }
+        CompletableFuture.allOf(values.toArray(new CompletableFuture<?>[0])).join();
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(attributes.get(i % attributes.size()).value(), values.get(i).join());
+        }
+    }
+
     @Test
     public void whenCallingGetValueTypeOnAttributeType_GetTheExpectedResult() {
         assertEquals(ValueType.STRING, email.valueType());
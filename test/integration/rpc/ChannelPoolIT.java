@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Integration Tests for clients that spread their transactions over a pool of channels
+ */
+public class ChannelPoolIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static String address;
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenUsingSeveralChannels_concurrentTransactionsAllComplete() {
+        try (GraknClient pooledClient = new GraknClient.Builder().address(address).channels(4)
+                .flowControlWindow(4 * 1024 * 1024).keepAlive(30, 10, TimeUnit.SECONDS).directExecutor().build();
+             GraknClient.Session session = pooledClient.session("channel_pool")) {
+            setupLotsOfPeople(session, 100);
+
+            List<Long> counts = IntStream.range(0, 16).parallel().mapToObj(i -> {
+                try (GraknClient.Transaction tx = session.transaction().read()) {
+                    return tx.stream(Graql.match(var("p").isa("person")).get()).get().count();
+                }
+            }).collect(Collectors.toList());
+            counts.forEach(count -> assertEquals(100L, (long) count));
+        }
+    }
+}
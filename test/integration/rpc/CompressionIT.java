@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static grakn.client.GraknClient.Transaction.BatchSize.ALL;
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for compressing the messages of transaction streams. The compressor each transaction stream is
+ * opened with is recorded on the channel, as that is where gRPC picks it up to compress outgoing messages.
+ */
+public class CompressionIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final List<String> compressors = new CopyOnWriteArrayList<>();
+    private static GraknClient compressingClient;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        compressingClient = new GraknClient(address).overrideChannel(
+                ManagedChannelBuilder.forTarget(address).usePlaintext().intercept(new CompressorRecorder()).build());
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        compressingClient.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenQueryingOnACompressedSession_runsCorrectly() {
+        try (GraknClient.Session session = compressingClient.session("compression").compression("gzip")) {
+            setupLotsOfPeople(session, 999);
+
+            compressors.clear();
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(999, tx.execute(ALL_PEOPLE, batchSize(ALL)).get().size());
+            }
+            assertEquals(Collections.singletonList("gzip"), compressors);
+
+            compressors.clear();
+            try (GraknClient.Transaction tx = session.transaction().compression(null).read()) {
+                assertEquals(999, tx.execute(ALL_PEOPLE).get().size());
+            }
+            assertEquals(Collections.singletonList(null), compressors);
+        }
+    }
+
+    @Test
+    public void whenATransactionOverridesTheSessionCompression_itsStreamUsesItsOwn() {
+        try (GraknClient.Session session = compressingClient.session("compression_override")) {
+            setupLotsOfPeople(session, 10);
+
+            compressors.clear();
+            try (GraknClient.Transaction tx = session.transaction().compression("gzip").read()) {
+                assertEquals(10, tx.execute(ALL_PEOPLE).get().size());
+            }
+            assertEquals(Collections.singletonList("gzip"), compressors);
+        }
+    }
+
+    @Test
+    public void whenCompressingWithAnUnknownCodec_itIsRejected() {
+        try (GraknClient.Session session = compressingClient.session("compression_unknown")) {
+            try {
+                session.compression("no-such-codec");
+                fail("A codec without a registered compressor should be rejected");
+            } catch (IllegalArgumentException e) {
+                assertEquals("No compressor is registered with the name: no-such-codec", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records the compressor of every transaction stream opened through it, null where messages are not compressed.
+     */
+    private static class CompressorRecorder implements ClientInterceptor {
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            if (method.getFullMethodName().endsWith("/transaction")) {
+                compressors.add(callOptions.getCompressor());
+            }
+            return next.newCall(method, callOptions);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.rpc.PreparedQuery;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for prepared queries, and how the values bound to them are written into Graql
+ */
+public class PreparedQueryIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final PreparedQuery INSERT_WEIGHT = PreparedQuery.prepare("insert $w ?weight isa weight;");
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenRunningAPreparedQuery_boundValuesAreUsed() {
+        try (GraknClient.Session session = client.session("prepared_query")) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.execute(Graql.parse("define person sub entity, has name, has age; name sub attribute, datatype string; age sub attribute, datatype long;").asDefine());
+                PreparedQuery insertPerson = PreparedQuery.prepare("insert $p isa person, has name ?name, has age ?age;");
+                assertEquals(Arrays.asList("name", "age"), insertPerson.parameters());
+                for (int i = 0; i < 10; i++) {
+                    tx.pipeline(insertPerson.bind("person \"" + i + "\"?", (long) i));
+                }
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                PreparedQuery getPerson = PreparedQuery.prepare("match $p isa person, has name ?name, has age $a; get $a;");
+                List<ConceptMap> answers = tx.<ConceptMap>execute(getPerson.bind("person \"7\"?")).get();
+                assertEquals(1, answers.size());
+                assertEquals(7L, answers.get(0).get("a").asAttribute().asRemote(tx).value());
+            }
+        }
+    }
+
+    @Test
+    public void whenBindingDoublesAndFloats_theyAreWrittenWithoutExponents() {
+        assertEquals("insert $w 100000000000000000000.0 isa weight;", INSERT_WEIGHT.bind(1e20).toString());
+        assertEquals("insert $w 0.00000015 isa weight;", INSERT_WEIGHT.bind(1.5e-7).toString());
+        assertEquals("insert $w -2.5 isa weight;", INSERT_WEIGHT.bind(-2.5).toString());
+        assertEquals("insert $w 0.1 isa weight;", INSERT_WEIGHT.bind(0.1f).toString());
+        assertEquals("insert $w 0.0015 isa weight;", INSERT_WEIGHT.bind(1.5e-3f).toString());
+    }
+
+    @Test
+    public void whenBindingNaNOrInfinity_itIsRejected() {
+        for (Object value : Arrays.asList(Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Float.NaN, Float.POSITIVE_INFINITY)) {
+            try {
+                INSERT_WEIGHT.bind(value);
+                fail("Binding " + value + " should be rejected");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("?weight"));
+            }
+        }
+    }
+
+    @Test
+    public void whenBindingVeryLargeAndSmallDoubles_theyAreStoredExactly() {
+        try (GraknClient.Session session = client.session("prepared_query_doubles")) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.execute(Graql.parse("define weight sub attribute, datatype double;").asDefine());
+                tx.pipeline(INSERT_WEIGHT.bind(1e20));
+                tx.pipeline(INSERT_WEIGHT.bind(1.5e-7));
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                PreparedQuery getWeight = PreparedQuery.prepare("match $w ?weight isa weight; get;");
+                for (double weight : new double[]{1e20, 1.5e-7}) {
+                    List<ConceptMap> answers = tx.<ConceptMap>execute(getWeight.bind(weight)).get();
+                    assertEquals(1, answers.size());
+                    assertEquals(weight, answers.get(0).get("w").asAttribute().asRemote(tx).value());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static grakn.client.GraknClient.Transaction.BatchSize.ALL;
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A plain timing harness for the transport, run against the integration server rather than a benchmark framework.
+ * Each case runs once to warm up and then a fixed number of times, and logs the median, fastest and slowest run, so
+ * that configurations can be compared on the same machine. Nothing is asserted about the timings themselves, only
+ * that every run got the answers it should.
+ *
+ * The target is tagged manual, so it only runs when asked for: bazel test //test/integration/rpc:timing-it
+ */
+public class TimingIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingIT.class);
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final String KEYSPACE = "timing";
+    private static final int PEOPLE = 1000;
+    private static final int RUNS = 10;
+    private static final GraqlGet ALL_PEOPLE = Graql.match(var("p").isa("person")).get();
+    private static String address;
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+        try (GraknClient.Session session = client.session(KEYSPACE);
+             GraknClient.Transaction tx = session.transaction().write()) {
+            tx.execute(Graql.parse("define person sub entity, has name; name sub attribute, datatype string;").asDefine());
+            for (int i = 0; i < PEOPLE; i++) {
+                tx.execute(Graql.insert(var("p").isa("person").has("name", "person number " + i)));
+            }
+            tx.commit();
+        }
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    /**
+     * Many threads sharing one transaction all send through its Transceiver, which queues their requests without
+     * taking a lock. Compares the same number of small queries sent from one thread and from up to 64, against the
+     * same loop with every send made under one lock, as a synchronized send did.
+     */
+    @Test
+    public void timeSmallQueriesFromManyThreadsOnOneTransaction() throws InterruptedException, ExecutionException {
+        GraqlGet onePerson = Graql.parse("match $p isa person; get; limit 1;").asGet();
+        int queries = 2048;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try (GraknClient.Session session = client.session(KEYSPACE);
+             GraknClient.Transaction tx = session.transaction().read()) {
+            Object sendLock = new Object();
+            for (int threads : new int[]{1, 4, 16, 64}) {
+                long lockFree = time("small queries on one transaction from " + threads + " threads", () -> {
+                    runOnThreads(executor, threads, () -> {
+                        for (int q = 0; q < queries / threads; q++) {
+                            assertEquals(1, tx.execute(onePerson).get().size());
+                        }
+                    });
+                });
+                long synchronizedSend = time("small queries on one transaction from " + threads + " threads, sending under a lock", () -> {
+                    runOnThreads(executor, threads, () -> {
+                        for (int q = 0; q < queries / threads; q++) {
+                            GraknClient.Transaction.QueryFuture<List<ConceptMap>> answers;
+                            synchronized (sendLock) {
+                                answers = tx.execute(onePerson);
+                            }
+                            assertEquals(1, answers.get().size());
+                        }
+                    });
+                });
+                LOG.info("{} threads: sending under a lock took {} times as long as sending without one", threads,
+                         String.format("%.2f", (double) synchronizedSend / lockFree));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Many transactions at once, each streaming every answer, through clients that spread their transactions over
+     * one channel or several.
+     */
+    @Test
+    public void timeConcurrentTransactionsOverOneOrSeveralChannels() throws InterruptedException, ExecutionException {
+        int transactions = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(transactions);
+        try {
+            for (int channels : new int[]{1, 4}) {
+                try (GraknClient pooledClient = new GraknClient.Builder().address(address).channels(channels).build();
+                     GraknClient.Session session = pooledClient.session(KEYSPACE)) {
+                    time(transactions + " concurrent transactions over " + channels + " channels", () -> {
+                        List<Future<?>> workers = new ArrayList<>();
+                        for (int t = 0; t < transactions; t++) {
+                            workers.add(executor.submit(() -> {
+                                try (GraknClient.Transaction tx = session.transaction().read()) {
+                                    assertEquals(PEOPLE, tx.stream(ALL_PEOPLE).get().count());
+                                }
+                            }));
+                        }
+                        for (Future<?> worker : workers) {
+                            worker.get();
+                        }
+                    });
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Streams every answer in a single batch, with and without compressing the requests of the transaction, and counts
+     * the bytes each direction takes on the wire and before compression. Compression applies to the requests alone,
+     * so the answers coming back should take as many bytes either way.
+     */
+    @Test
+    public void timeStreamingEveryAnswerWithAndWithoutCompression() throws InterruptedException, ExecutionException {
+        ByteCounter bytes = new ByteCounter();
+        GraknClient countingClient = new GraknClient(address).overrideChannel(
+                ManagedChannelBuilder.forTarget(address).usePlaintext().intercept(bytes).build());
+        try (GraknClient.Session plain = countingClient.session(KEYSPACE);
+             GraknClient.Session compressed = countingClient.session(KEYSPACE).compression("gzip")) {
+            bytes.reset();
+            long plainNanos = time("streaming every answer uncompressed", () -> streamAllPeople(plain));
+            bytes.log("uncompressed", RUNS + 1);
+            bytes.reset();
+            long compressedNanos = time("streaming every answer with gzip", () -> streamAllPeople(compressed));
+            bytes.log("gzip", RUNS + 1);
+            LOG.info("gzip took {} times as long as no compression", String.format("%.2f", (double) compressedNanos / plainNanos));
+        } finally {
+            countingClient.close();
+        }
+    }
+
+    private static void streamAllPeople(GraknClient.Session session) {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            assertEquals(PEOPLE, tx.stream(ALL_PEOPLE, batchSize(ALL)).get().count());
+        }
+    }
+
+    /**
+     * Runs the task on the given number of threads at once, and waits for all of them to finish.
+     */
+    private static void runOnThreads(ExecutorService executor, int threads, Runnable task) throws InterruptedException, ExecutionException {
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(task));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    /**
+     * Runs a case once to warm up and then RUNS times, and logs how long the runs took.
+     *
+     * @return the median run time in nanoseconds
+     */
+    private static long time(String name, TimedRun run) throws InterruptedException, ExecutionException {
+        run.run();
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long median = nanos[RUNS / 2];
+        LOG.info("{}: median {} ms, fastest {} ms, slowest {} ms over {} runs", name,
+                 TimeUnit.NANOSECONDS.toMillis(median), TimeUnit.NANOSECONDS.toMillis(nanos[0]),
+                 TimeUnit.NANOSECONDS.toMillis(nanos[RUNS - 1]), RUNS);
+        return median;
+    }
+
+    /**
+     * Counts the bytes of every transaction stream opened through it, both on the wire and before compression, in
+     * each direction.
+     */
+    private static class ByteCounter extends ClientStreamTracer.Factory implements ClientInterceptor {
+        private final AtomicLong outboundWire = new AtomicLong();
+        private final AtomicLong outboundUncompressed = new AtomicLong();
+        private final AtomicLong inboundWire = new AtomicLong();
+        private final AtomicLong inboundUncompressed = new AtomicLong();
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            if (method.getFullMethodName().endsWith("/transaction")) {
+                callOptions = callOptions.withStreamTracerFactory(this);
+            }
+            return next.newCall(method, callOptions);
+        }
+
+        @Override
+        public ClientStreamTracer newClientStreamTracer(ClientStreamTracer.StreamInfo info, Metadata headers) {
+            return new ClientStreamTracer() {
+                @Override
+                public void outboundWireSize(long bytes) {
+                    outboundWire.addAndGet(bytes);
+                }
+
+                @Override
+                public void outboundUncompressedSize(long bytes) {
+                    outboundUncompressed.addAndGet(bytes);
+                }
+
+                @Override
+                public void inboundWireSize(long bytes) {
+                    inboundWire.addAndGet(bytes);
+                }
+
+                @Override
+                public void inboundUncompressedSize(long bytes) {
+                    inboundUncompressed.addAndGet(bytes);
+                }
+            };
+        }
+
+        private void reset() {
+            outboundWire.set(0);
+            outboundUncompressed.set(0);
+            inboundWire.set(0);
+            inboundUncompressed.set(0);
+        }
+
+        private void log(String name, int runs) {
+            LOG.info("{}: per run, requests took {} bytes on the wire of {} uncompressed, and responses {} bytes of {}",
+                     name, outboundWire.get() / runs, outboundUncompressed.get() / runs,
+                     inboundWire.get() / runs, inboundUncompressed.get() / runs);
+        }
+    }
+
+    private interface TimedRun {
+        void run() throws InterruptedException, ExecutionException;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.rpc;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.exception.GraknClientException;
+import grakn.client.rpc.RequestBuilder;
+import grakn.client.rpc.Transceiver;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import grakn.protocol.session.SessionProto;
+import grakn.protocol.session.SessionServiceGrpc;
+import graql.lang.Graql;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static grakn.client.GraknClient.Transaction.BatchSize.ALL;
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.match;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for the transaction stream, and how responses are buffered on it
+ */
+public class TransceiverIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static String address;
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenOnlyTheByteBoundIsSet_responsesStopBeingReadOnceItIsReached() throws InterruptedException {
+        try (GraknClient.Session session = client.session("transceiver_byte_bound")) {
+            setupLotsOfPeople(session, 100);
+        }
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(address).usePlaintext().build();
+        try {
+            String sessionId = SessionServiceGrpc.newBlockingStub(channel)
+                    .open(RequestBuilder.Session.open("transceiver_byte_bound")).getSessionId();
+            try (Transceiver transceiver = Transceiver.create(SessionServiceGrpc.newStub(channel), Integer.MAX_VALUE, 1)) {
+                transceiver.sendAndReceive(RequestBuilder.Transaction.open(sessionId, GraknClient.Transaction.Type.READ));
+
+                CountingCollector collector = new CountingCollector();
+                SessionProto.Transaction.Iter.Req query = RequestBuilder.Transaction.query(
+                        match(var("p").isa("person")).get().toString(), batchSize(ALL));
+                transceiver.sendAndReceiveMultipleAsync(SessionProto.Transaction.Req.newBuilder().setIterReq(query).build(), collector);
+
+                // Every answer is a single response, and one response is already over the bound of one byte
+                TimeUnit.SECONDS.sleep(1);
+                assertEquals(1, collector.delivered.get());
+
+                int answers = 0;
+                while (!collector.take().getIterRes().getDone()) {
+                    answers++;
+                    assertTrue(collector.delivered.get() <= answers + 1);
+                }
+                assertEquals(100, answers);
+            }
+            SessionServiceGrpc.newBlockingStub(channel).close(RequestBuilder.Session.close(sessionId));
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void whenAnswersAreLeftUnread_theCommitIsNotHeldBackBehindThem() {
+        try (GraknClient.Session session = client.session("transceiver_unread_answers")) {
+            setupLotsOfPeople(session, 100);
+
+            try (GraknClient.Transaction tx = session.transaction().maxBufferedResponses(10).write()) {
+                Stream<?> unread = tx.stream(match(var("p").isa("person")).get(), batchSize(ALL)).get();
+                tx.execute(Graql.parse("insert $p isa person;").asInsert()).get();
+                tx.commit();
+
+                Iterator<?> answers = unread.iterator();
+                try {
+                    while (answers.hasNext()) {
+                        answers.next();
+                    }
+                    fail();
+                } catch (GraknClientException e) {
+                    assertTrue(e.getMessage().contains("before all answers to the query were read"));
+                }
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(101, tx.stream(match(var("p").isa("person")).get()).get().count());
+            }
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void whenBufferingIsUnbounded_answersSentBeforeTheCommitCanBeReadAfterIt() {
+        try (GraknClient.Session session = client.session("transceiver_read_after_commit")) {
+            setupLotsOfPeople(session, 10);
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                GraknClient.Transaction.QueryFuture<List<ConceptMap>> beforeCommit =
+                        tx.execute(match(var("p").isa("person")).get(), batchSize(ALL));
+                tx.commit();
+                assertEquals(10, beforeCommit.get().size());
+            }
+        }
+    }
+
+    @Test(timeout = 120_000)
+    public void whenManyThreadsSendAtOnce_everyRequestGetsItsOwnResponses() throws InterruptedException, ExecutionException {
+        try (GraknClient.Session session = client.session("transceiver_concurrent_send")) {
+            setupLotsOfPeople(session, 50);
+        }
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(address).usePlaintext().build();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            String sessionId = SessionServiceGrpc.newBlockingStub(channel)
+                    .open(RequestBuilder.Session.open("transceiver_concurrent_send")).getSessionId();
+            try (Transceiver transceiver = Transceiver.create(SessionServiceGrpc.newStub(channel))) {
+                transceiver.sendAndReceive(RequestBuilder.Transaction.open(sessionId, GraknClient.Transaction.Type.READ));
+
+                // Every request asks for a different number of answers, so a response routed to the wrong collector
+                // shows up as a wrong count
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> senders = new ArrayList<>();
+                for (int thread = 0; thread < 16; thread++) {
+                    int first = thread;
+                    senders.add(executor.submit(() -> {
+                        start.await();
+                        for (int limit = first % 10 + 1; limit <= 50; limit += 10) {
+                            CountingCollector collector = new CountingCollector();
+                            SessionProto.Transaction.Iter.Req query = RequestBuilder.Transaction.query(
+                                    "match $p isa person; get; limit " + limit + ";", batchSize(ALL));
+                            transceiver.sendAndReceiveMultipleAsync(SessionProto.Transaction.Req.newBuilder().setIterReq(query).build(), collector);
+                            int answers = 0;
+                            while (!collector.take().getIterRes().getDone()) {
+                                answers++;
+                            }
+                            assertEquals(limit, answers);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> sender : senders) {
+                    sender.get();
+                }
+            }
+            SessionServiceGrpc.newBlockingStub(channel).close(RequestBuilder.Session.close(sessionId));
+        } finally {
+            executor.shutdownNow();
+            channel.shutdownNow();
+        }
+    }
+
+    private static class CountingCollector extends Transceiver.MultiResponseCollector {
+        private final AtomicInteger delivered = new AtomicInteger();
+
+        @Override
+        protected boolean isLastResponse(SessionProto.Transaction.Res response) {
+            delivered.incrementAndGet();
+            return response.getIterRes().getDone();
+        }
+    }
+}
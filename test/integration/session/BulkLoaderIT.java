@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.rpc.BulkLoader;
+import grakn.client.rpc.RetryPolicy;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import grakn.protocol.session.SessionProto;
+import graql.lang.Graql;
+import graql.lang.query.GraqlInsert;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.definePerson;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for loading inserts through a BulkLoader, including when its transactions fail before or while
+ * they commit. Failures are injected into the transaction streams of a client by cancelling a stream just after it
+ * sends a given kind of request, and reporting that as UNAVAILABLE.
+ */
+public class BulkLoaderIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.maxAttempts(3).backoff(10, 10, TimeUnit.MILLISECONDS);
+    private static GraknClient client;
+    private static GraknClient faultyClient;
+    private static FaultInjector faults;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+        faults = new FaultInjector();
+        faultyClient = new GraknClient(address).overrideChannel(
+                ManagedChannelBuilder.forTarget(address).usePlaintext().intercept(faults).build());
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        faultyClient.close();
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @After
+    public void stopInjectingFaults() {
+        faults.failAfterSending(0, request -> false);
+    }
+
+    @Test
+    public void whenBulkLoading_everyQueryIsCommitted() {
+        try (GraknClient.Session session = client.session("bulk_loader")) {
+            definePerson(session);
+
+            BulkLoader loader = session.bulkLoader().transactions(4).commitEvery(100).queueCapacity(50).build();
+            BulkLoader.Stats stats = loader.load(people(1000));
+            assertEquals(1000, stats.committedQueries());
+            assertEquals(0, stats.failedQueries());
+            assertTrue(stats.committedBatches() >= 10);
+            assertEquals(1000, countPeople(session));
+        }
+    }
+
+    @Test
+    public void whenALoaderIsUsedAgain_eachLoadReportsItsOwnCounts() {
+        try (GraknClient.Session session = client.session("bulk_loader_again")) {
+            definePerson(session);
+
+            BulkLoader loader = session.bulkLoader().transactions(2).commitEvery(50).build();
+            assertEquals(300, loader.load(people(300)).committedQueries());
+            BulkLoader.Stats second = loader.load(people(100));
+            assertEquals(100, second.committedQueries());
+            assertEquals(0, second.failedQueries());
+            assertEquals(400, countPeople(session));
+        }
+    }
+
+    @Test
+    public void whenEveryBatchFails_theLoadStillReturns() {
+        try (GraknClient.Session session = client.session("bulk_loader_failing")) {
+            definePerson(session);
+
+            BulkLoader loader = session.bulkLoader().transactions(2).commitEvery(10).queueCapacity(5).build();
+            Stream<GraqlInsert> undefinedInserts = IntStream.range(0, 200)
+                    .mapToObj(i -> Graql.parse("insert $r isa robot;").asInsert());
+            BulkLoader.Stats stats = loader.load(undefinedInserts);
+            assertEquals(0, stats.committedQueries());
+            assertEquals(200, stats.failedQueries());
+            assertEquals(0, stats.retries());
+            assertNotNull(stats.lastError());
+            assertEquals(0, countPeople(session));
+        }
+    }
+
+    @Test
+    public void whenABatchFailsTransientlyBeforeCommitting_itIsRetriedAndCommittedOnce() {
+        try (GraknClient.Session session = faultyClient.session("bulk_loader_retry")) {
+            definePerson(session);
+
+            faults.failAfterSending(1, SessionProto.Transaction.Req::hasOpenReq);
+            BulkLoader loader = session.bulkLoader().transactions(2).commitEvery(50).retryPolicy(RETRY_POLICY).build();
+            BulkLoader.Stats stats = loader.load(people(500));
+            assertEquals(1, faults.injected());
+            assertEquals(1, stats.retries());
+            assertEquals(500, stats.committedQueries());
+            assertEquals(0, stats.failedQueries());
+            assertEquals(0, stats.uncertainQueries());
+            assertEquals(500, countPeople(session));
+        }
+    }
+
+    @Test
+    public void whenABatchFailsTransientlyWhileCommitting_itIsReportedUncertainAndNotReplayed() {
+        try (GraknClient.Session session = faultyClient.session("bulk_loader_commit")) {
+            definePerson(session);
+
+            faults.failAfterSending(1, SessionProto.Transaction.Req::hasCommitReq);
+            BulkLoader loader = session.bulkLoader().transactions(2).commitEvery(50).retryPolicy(RETRY_POLICY).build();
+            BulkLoader.Stats stats = loader.load(people(500));
+            assertEquals(1, faults.injected());
+            assertEquals(0, stats.retries());
+            assertEquals(450, stats.committedQueries());
+            assertEquals(50, stats.uncertainQueries());
+            assertEquals(0, stats.failedQueries());
+
+            // Whether or not the server committed the uncertain batch, it must not have been inserted twice
+            long people = countPeople(session);
+            assertTrue(people == 450 || people == 500);
+        }
+    }
+
+    private static Stream<GraqlInsert> people(int numberOfPeople) {
+        return IntStream.range(0, numberOfPeople).mapToObj(i -> Graql.parse("insert $p isa person;").asInsert());
+    }
+
+    private static long countPeople(GraknClient.Session session) {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            return tx.stream(ALL_PEOPLE).get().count();
+        }
+    }
+
+    /**
+     * Fails the next few transaction streams that send a matching request with UNAVAILABLE, as if the connection had
+     * dropped just after the request left the client. Nothing the server sends afterwards reaches the client.
+     */
+    private static class FaultInjector implements ClientInterceptor {
+        private final AtomicInteger streamsToFail = new AtomicInteger();
+        private final AtomicInteger injected = new AtomicInteger();
+        private volatile Predicate<SessionProto.Transaction.Req> trigger = request -> false;
+
+        void failAfterSending(int streams, Predicate<SessionProto.Transaction.Req> trigger) {
+            this.trigger = trigger;
+            injected.set(0);
+            streamsToFail.set(streams);
+        }
+
+        int injected() {
+            return injected.get();
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            ClientCall<ReqT, RespT> call = next.newCall(method, callOptions);
+            if (!method.getFullMethodName().endsWith("/transaction")) {
+                return call;
+            }
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(call) {
+                private volatile boolean failed;
+
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                        @Override
+                        public void onMessage(RespT message) {
+                            if (!failed) {
+                                super.onMessage(message);
+                            }
+                        }
+
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            super.onClose(failed ? Status.UNAVAILABLE.withDescription("Injected fault") : status, trailers);
+                        }
+                    }, headers);
+                }
+
+                @Override
+                public void sendMessage(ReqT message) {
+                    super.sendMessage(message);
+                    if (failed || !(message instanceof SessionProto.Transaction.Req)
+                            || !trigger.test((SessionProto.Transaction.Req) message)
+                            || streamsToFail.getAndUpdate(n -> Math.max(n - 1, 0)) == 0) {
+                        return;
+                    }
+                    failed = true;
+                    injected.incrementAndGet();
+                    cancel("Injected fault", null);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.match;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Integration Tests for the session-scoped cache of the answers to read queries
+ */
+public class ResultCacheIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final GraqlGet ALL_PEOPLE = match(var("p").isa("person")).get();
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenResultsAreCached_repeatedQueriesAreAnsweredUntilAWriteCommits() {
+        try (GraknClient.Session session = client.session("result_cache")) {
+            session.cacheResults(100, 50, 1, TimeUnit.MINUTES);
+            setupLotsOfPeople(session, 10);
+
+            List<ConceptMap> first;
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                first = tx.execute(ALL_PEOPLE).get();
+                assertEquals(10, first.size());
+                assertSame(first.get(0), tx.execute(ALL_PEOPLE).get().get(0));
+            }
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(first, tx.execute(ALL_PEOPLE).get());
+                assertFalse(first.get(0).get("p").isRemote());
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.execute(Graql.parse("insert $p isa person;").asInsert());
+                tx.commit();
+            }
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(11, tx.execute(ALL_PEOPLE).get().size());
+            }
+        }
+    }
+
+    @Test
+    public void whenAQueryHasMoreAnswersThanTheLimitPerQuery_itIsNotCached() {
+        try (GraknClient.Session session = client.session("result_cache_row_limit")) {
+            session.cacheResults(100, 5, 1, TimeUnit.MINUTES);
+            setupLotsOfPeople(session, 10);
+            GraqlGet fivePeople = Graql.parse("match $p isa person; get; limit 5;").asGet();
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                List<ConceptMap> everyone = tx.execute(ALL_PEOPLE).get();
+                assertEquals(10, everyone.size());
+                assertNotSame(everyone.get(0), tx.execute(ALL_PEOPLE).get().get(0));
+
+                List<ConceptMap> five = tx.execute(fivePeople).get();
+                assertEquals(5, five.size());
+                assertSame(five.get(0), tx.execute(fivePeople).get().get(0));
+            }
+        }
+    }
+
+    @Test
+    public void whenTheCachedAnswersOutweighTheLimit_theLeastRecentlyUsedQueryIsEvicted() {
+        try (GraknClient.Session session = client.session("result_cache_weight")) {
+            session.cacheResults(15, 10, 1, TimeUnit.MINUTES);
+            setupLotsOfPeople(session, 10);
+            GraqlGet eightPeople = Graql.parse("match $p isa person; get; limit 8;").asGet();
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                List<ConceptMap> everyone = tx.execute(ALL_PEOPLE).get();
+                assertSame(everyone.get(0), tx.execute(ALL_PEOPLE).get().get(0));
+
+                List<ConceptMap> eight = tx.execute(eightPeople).get();
+                assertSame(eight.get(0), tx.execute(eightPeople).get().get(0));
+                assertNotSame(everyone.get(0), tx.execute(ALL_PEOPLE).get().get(0));
+            }
+        }
+    }
+
+    @Test
+    public void whenAQueryIsStreamedFromTheServer_itIsCachedOnlyOnceEveryAnswerIsRead() {
+        try (GraknClient.Session session = client.session("result_cache_stream")) {
+            session.cacheResults(1000, 1000, 1, TimeUnit.MINUTES);
+            setupLotsOfPeople(session, 100);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                // A partly read stream is not cached, as the answers it holds are not all there are
+                try (Stream<ConceptMap> answers = tx.stream(ALL_PEOPLE, GraknClient.Transaction.Options.batchSize(10)).get()) {
+                    Iterator<ConceptMap> iterator = answers.iterator();
+                    iterator.next();
+                }
+                List<ConceptMap> streamed;
+                try (Stream<ConceptMap> answers = tx.stream(ALL_PEOPLE, GraknClient.Transaction.Options.batchSize(10)).get()) {
+                    streamed = answers.collect(Collectors.toList());
+                }
+                assertEquals(100, streamed.size());
+
+                // Only the fully read stream was cached
+                List<ConceptMap> cached = tx.execute(ALL_PEOPLE).get();
+                assertEquals(streamed, cached);
+                assertSame(streamed.get(0), cached.get(0));
+                assertFalse(streamed.get(0).get("p").isRemote());
+            }
+        }
+    }
+
+    @Test
+    public void whenAQueryIsStreamedInParallel_itsAnswersAreCachedInTheOrderTheServerSentThem() {
+        try (GraknClient.Session session = client.session("result_cache_parallel")) {
+            session.cacheResults(1000, 1000, 1, TimeUnit.MINUTES);
+            setupLotsOfPeople(session, 500);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                List<ConceptMap> streamed;
+                try (Stream<ConceptMap> answers = tx.stream(ALL_PEOPLE, GraknClient.Transaction.Options.batchSize(10)).get()) {
+                    streamed = answers.parallel().collect(Collectors.toList());
+                }
+                assertEquals(500, streamed.size());
+
+                List<ConceptMap> cached = tx.execute(ALL_PEOPLE).get();
+                assertEquals(streamed.size(), cached.size());
+                for (int i = 0; i < streamed.size(); i++) {
+                    assertSame(streamed.get(i), cached.get(i));
+                }
+            }
+        }
+    }
+}
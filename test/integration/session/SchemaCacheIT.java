@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.concept.Label;
+import grakn.client.concept.SchemaConcept;
+import grakn.client.concept.type.EntityType;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Integration Tests for the session-scoped schema snapshot
+ */
+public class SchemaCacheIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenAnotherSessionChangesTheSchema_theCachedSchemaIsServedUntilItExpires() {
+        String keyspace = "schema_cache_hit";
+        define(keyspace, "define person sub entity; name sub attribute, datatype string;");
+
+        try (GraknClient.Session cached = client.session(keyspace).cacheSchema(1, TimeUnit.HOURS)) {
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                EntityType.Remote person = tx.getEntityType("person");
+                assertThat(labels(person.attributes()), empty());
+                assertNull(tx.getEntityType("dog"));
+            }
+
+            define(keyspace, "define person has name; dog sub entity;");
+
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                EntityType.Remote person = tx.getEntityType("person");
+                assertThat(labels(person.attributes()), empty());
+                assertThat(labels(person.sups()), hasItem(Label.of("entity")));
+                assertNull(tx.getEntityType("dog"));
+            }
+        }
+
+        try (GraknClient.Session uncached = client.session(keyspace)) {
+            try (GraknClient.Transaction tx = uncached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").attributes()), contains(Label.of("name")));
+                assertNotNull(tx.getEntityType("dog"));
+            }
+        }
+    }
+
+    @Test
+    public void whenTheSessionDefinesSchema_theCachedSchemaIsDropped() {
+        String keyspace = "schema_cache_define";
+        define(keyspace, "define person sub entity; name sub attribute, datatype string;");
+
+        try (GraknClient.Session cached = client.session(keyspace).cacheSchema(1, TimeUnit.HOURS)) {
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").attributes()), empty());
+            }
+
+            try (GraknClient.Transaction tx = cached.transaction().write()) {
+                tx.execute(Graql.parse("define person has name; dog sub entity;").asDefine());
+                assertThat(labels(tx.getEntityType("person").attributes()), contains(Label.of("name")));
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").attributes()), contains(Label.of("name")));
+                assertNotNull(tx.getEntityType("dog"));
+            }
+        }
+    }
+
+    @Test
+    public void whenTheSessionUndefinesSchema_theCachedSchemaIsDropped() {
+        String keyspace = "schema_cache_undefine";
+        define(keyspace, "define person sub entity, has name; name sub attribute, datatype string; dog sub entity;");
+
+        try (GraknClient.Session cached = client.session(keyspace).cacheSchema(1, TimeUnit.HOURS)) {
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").attributes()), contains(Label.of("name")));
+                assertNotNull(tx.getEntityType("dog"));
+            }
+
+            try (GraknClient.Transaction tx = cached.transaction().write()) {
+                tx.execute(Graql.parse("undefine person has name; dog sub entity;").asUndefine());
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").attributes()), empty());
+                assertNull(tx.getEntityType("dog"));
+            }
+        }
+    }
+
+    @Test
+    public void whenTheHierarchyIsChangedThroughConceptMethods_theCachedSchemaIsDropped() {
+        String keyspace = "schema_cache_concept_methods";
+        define(keyspace, "define person sub entity; name sub attribute, datatype string;");
+
+        try (GraknClient.Session cached = client.session(keyspace).cacheSchema(1, TimeUnit.HOURS)) {
+            try (GraknClient.Transaction tx = cached.transaction().write()) {
+                EntityType.Remote person = tx.getEntityType("person");
+                assertThat(labels(person.keys()), empty());
+
+                person.key(tx.getAttributeType("name"));
+                assertThat(labels(person.keys()), contains(Label.of("name")));
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = cached.transaction().read()) {
+                assertThat(labels(tx.getEntityType("person").keys()), contains(Label.of("name")));
+            }
+        }
+    }
+
+    private static void define(String keyspace, String schema) {
+        try (GraknClient.Session session = client.session(keyspace)) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.execute(Graql.parse(schema).asDefine());
+                tx.commit();
+            }
+        }
+    }
+
+    private static Set<Label> labels(Stream<? extends SchemaConcept.Remote<?>> concepts) {
+        return concepts.map(SchemaConcept::label).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for opening and closing sessions without blocking
+ */
+public class SessionAsyncIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenOpeningSessionsAsynchronously_theyAreAllUsable() {
+        List<CompletableFuture<GraknClient.Session>> opening = IntStream.range(0, 8)
+                .mapToObj(i -> client.sessionAsync("async_session_" + i))
+                .collect(Collectors.toList());
+        List<GraknClient.Session> sessions = opening.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        for (GraknClient.Session session : sessions) {
+            assertTrue(session.isOpen());
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(1, tx.execute(Graql.match(var("x").type("thing")).get()).get().size());
+            }
+        }
+
+        CompletableFuture.allOf(sessions.stream().map(GraknClient.Session::closeAsync).toArray(CompletableFuture[]::new)).join();
+        sessions.forEach(session -> assertFalse(session.isOpen()));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.rpc.SessionPool;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for the keyspace-keyed pool of shared sessions
+ */
+public class SessionPoolIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenBorrowingFromASessionPool_sessionsAreSharedAndEvictedWhenIdle() throws InterruptedException {
+        try (SessionPool pool = client.sessionPool(200, TimeUnit.MILLISECONDS)) {
+            SessionPool.Lease first = pool.borrow("session_pool");
+            SessionPool.Lease second = pool.borrow("session_pool");
+            assertSame(first.session(), second.session());
+            assertEquals(1, pool.stats().openSessions());
+            assertEquals(2, pool.stats().borrowedSessions());
+
+            GraknClient.Session session = second.session();
+            first.close();
+            assertTrue(session.isOpen());
+            second.close();
+            assertEquals(0, pool.stats().borrowedSessions());
+
+            Thread.sleep(1000);
+            assertFalse(session.isOpen());
+            SessionPool.Stats stats = pool.stats();
+            assertEquals(0, stats.openSessions());
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(1, stats.evictions());
+
+            try (SessionPool.Lease reopened = pool.borrow("session_pool")) {
+                assertTrue(reopened.session().isOpen());
+            }
+        }
+    }
+
+    @Test
+    public void whenALeaseIsClosedTwice_itOnlyGivesBackItsOwnBorrow() {
+        try (SessionPool pool = client.sessionPool(1, TimeUnit.MINUTES)) {
+            SessionPool.Lease other = pool.borrow("session_pool_twice");
+            try (SessionPool.Lease lease = pool.borrow("session_pool_twice")) {
+                lease.close();
+            }
+            assertEquals(1, pool.stats().borrowedSessions());
+
+            // Closing the shared session does nothing, as the pool owns it
+            other.session().close();
+            assertTrue(other.session().isOpen());
+            assertEquals(1, pool.stats().borrowedSessions());
+            other.close();
+            assertEquals(0, pool.stats().borrowedSessions());
+
+            try {
+                other.session();
+                fail("A lease should not hand out its session once closed");
+            } catch (IllegalStateException e) {
+                assertEquals("The session has been given back to the pool", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void whenBorrowingForDifferentKeyspaces_eachGetsItsOwnSession() {
+        try (SessionPool pool = client.sessionPool(1, TimeUnit.MINUTES)) {
+            try (SessionPool.Lease first = pool.borrow("session_pool_first");
+                 SessionPool.Lease second = pool.borrow("session_pool_second")) {
+                assertNotSame(first.session(), second.session());
+                assertEquals("session_pool_first", first.session().keyspace().name());
+                assertEquals("session_pool_second", second.session().keyspace().name());
+                assertEquals(2, pool.stats().openSessions());
+                assertEquals(2, pool.stats().misses());
+            }
+        }
+    }
+
+    @Test
+    public void whenThePoolIsClosed_idleSessionsCloseAtOnceAndBorrowedOnesWhenGivenBack() {
+        SessionPool pool = client.sessionPool(1, TimeUnit.MINUTES);
+        SessionPool.Lease idleLease = pool.borrow("session_pool_idle");
+        GraknClient.Session idle = idleLease.session();
+        idleLease.close();
+        SessionPool.Lease borrowedLease = pool.borrow("session_pool_borrowed");
+        GraknClient.Session borrowed = borrowedLease.session();
+
+        pool.close();
+        assertFalse(idle.isOpen());
+        assertTrue(borrowed.isOpen());
+        borrowedLease.close();
+        assertFalse(borrowed.isOpen());
+
+        try {
+            pool.borrow("session_pool_idle");
+            fail("A closed pool should not lend sessions");
+        } catch (IllegalStateException e) {
+            assertEquals("The session pool has been closed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.session;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.exception.GraknClientException;
+import grakn.client.rpc.TransactionPool;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for pools of ready READ transactions
+ */
+public class TransactionPoolIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenBorrowingFromATransactionPool_transactionsAreReusedUntilTheyRunTooManyQueries() {
+        try (GraknClient.Session session = client.session("transaction_pool")) {
+            setupLotsOfPeople(session, 10);
+
+            try (TransactionPool pool = session.readTransactionPool(2, 1, TimeUnit.MINUTES, 2)) {
+                TransactionPool.Lease firstLease = pool.borrow();
+                GraknClient.Transaction first = firstLease.transaction();
+                assertEquals(10, first.execute(ALL_PEOPLE).get().size());
+                firstLease.close();
+                assertTrue(first.isOpen());
+
+                TransactionPool.Lease second = pool.borrow();
+                TransactionPool.Lease third = pool.borrow();
+                assertTrue(second.transaction() == first || third.transaction() == first);
+                for (TransactionPool.Lease lease : Arrays.asList(second, third)) {
+                    assertEquals(10, lease.transaction().execute(ALL_PEOPLE).get().size());
+                    lease.close();
+                }
+
+                assertFalse(first.isOpen());
+            }
+        }
+    }
+
+    @Test
+    public void whenATransactionIsGivenBackWithAnswersUnread_theNextBorrowerIsNotHeldBackByThem() {
+        try (GraknClient.Session session = client.session("transaction_pool_unread")) {
+            setupLotsOfPeople(session, 200);
+
+            try (TransactionPool pool = session.readTransactionPool(1, 1, TimeUnit.MINUTES, 10)) {
+                TransactionPool.Lease first = pool.borrow();
+                Iterator<ConceptMap> unread = first.transaction().stream(ALL_PEOPLE, batchSize(10)).get().iterator();
+                unread.next();
+                GraknClient.Transaction tx = first.transaction();
+                first.close();
+
+                try (TransactionPool.Lease second = pool.borrow()) {
+                    assertSame(tx, second.transaction());
+                    assertEquals(200, second.transaction().stream(ALL_PEOPLE).get().count());
+                }
+
+                try {
+                    while (unread.hasNext()) {
+                        unread.next();
+                    }
+                    fail("Answers discarded when the transaction was given back should not be read");
+                } catch (GraknClientException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whenThePoolIsClosed_itsRefillThreadStops() throws InterruptedException {
+        try (GraknClient.Session session = client.session("transaction_pool_close")) {
+            setupLotsOfPeople(session, 1);
+
+            TransactionPool pool = session.readTransactionPool(1, 1, TimeUnit.MINUTES, 1);
+            try (TransactionPool.Lease lease = pool.borrow()) {
+                lease.transaction().execute(ALL_PEOPLE).get();
+            } // Run too many queries, so it is replaced in the background
+            pool.close();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (refillThreadsAlive() > 0) {
+                assertTrue("The refill thread outlived its pool", System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void whenALeaseIsClosedAgainAfterTheTransactionIsLentOut_theNewBorrowerKeepsIt() {
+        try (GraknClient.Session session = client.session("transaction_pool_twice")) {
+            setupLotsOfPeople(session, 10);
+
+            try (TransactionPool pool = session.readTransactionPool(1, 1, TimeUnit.MINUTES, 10)) {
+                TransactionPool.Lease first = pool.borrow();
+                GraknClient.Transaction tx = first.transaction();
+                first.close();
+
+                try (TransactionPool.Lease second = pool.borrow();
+                     TransactionPool.Lease third = pool.borrow()) {
+                    assertSame(tx, second.transaction());
+                    first.close();
+                    tx.close(); // The pool owns the transaction, so this does nothing
+                    assertTrue(tx.isOpen());
+                    assertNotSame(tx, third.transaction());
+                    assertEquals(10, second.transaction().execute(ALL_PEOPLE).get().size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whenTheSessionIsClosedAsynchronously_itsPoolsAreClosedToo() {
+        GraknClient.Session session = client.session("transaction_pool_close_async");
+        setupLotsOfPeople(session, 1);
+        TransactionPool pool = session.readTransactionPool(1, 1, TimeUnit.MINUTES, 10);
+        GraknClient.Transaction ready;
+        try (TransactionPool.Lease lease = pool.borrow()) {
+            ready = lease.transaction();
+        }
+
+        session.closeAsync().join();
+        assertFalse(session.isOpen());
+        assertFalse(ready.isOpen());
+        try {
+            pool.borrow();
+            fail("The pool of a closed session should not lend transactions");
+        } catch (IllegalStateException e) {
+            assertEquals("The transaction pool has been closed", e.getMessage());
+        }
+    }
+
+    private static long refillThreadsAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("grakn-transaction-pool-refiller") && thread.isAlive())
+                .count();
+    }
+}
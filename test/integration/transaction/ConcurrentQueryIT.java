@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for querying one transaction from many threads at once
+ */
+public class ConcurrentQueryIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenQueryingFromManyThreadsOnOneTransaction_everyQueryGetsItsOwnAnswers() throws InterruptedException {
+        try (GraknClient.Session session = client.session("concurrent_queries")) {
+            setupLotsOfPeople(session, 100);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                ExecutorService executor = Executors.newFixedThreadPool(64);
+                List<Future<?>> workers = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    int worker = i;
+                    workers.add(executor.submit(() -> {
+                        for (int j = 0; j < 20; j++) {
+                            switch ((worker + j) % 3) {
+                                case 0:
+                                    assertEquals(100, tx.execute(Graql.match(var("p").isa("person")).get(), batchSize(7)).get().size());
+                                    break;
+                                case 1:
+                                    try (Stream<ConceptMap> answers = tx.stream(Graql.match(var("p").isa("person")).get(), batchSize(3)).get()) {
+                                        assertEquals(10, answers.limit(10).count());
+                                    }
+                                    break;
+                                default:
+                                    ConceptMap answer = tx.execute(Graql.match(var("p").isa("person")).get().limit(1)).get().get(0);
+                                    assertEquals("person", answer.get("p").asThing().asRemote(tx).type().label().toString());
+                                    break;
+                            }
+                        }
+                    }));
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+                for (Future<?> result : workers) {
+                    try {
+                        result.get();
+                    } catch (ExecutionException e) {
+                        throw new AssertionError(e.getCause());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.exception.GraknClientException;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.GraknClient.Transaction.Options.deadline;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for query and transaction deadlines
+ */
+public class DeadlineIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenAQueryPassesItsDeadline_itFailsAndTheTransactionRemainsUsable() {
+        try (GraknClient.Session session = client.session("query_deadline")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                try (Stream<ConceptMap> answers = tx.stream(Graql.match(var("p").isa("person")).get(), batchSize(1).deadline(1, TimeUnit.NANOSECONDS)).get()) {
+                    answers.forEach(answer -> {});
+                    fail();
+                } catch (GraknClientException e) {
+                    assertEquals(GraknClientException.deadlineExceeded().getMessage(), e.getMessage());
+                }
+
+                assertEquals(999, tx.execute(Graql.match(var("p").isa("person")).get(), deadline(1, TimeUnit.MINUTES)).get().size());
+            }
+        }
+    }
+
+    @Test
+    public void whenATransactionPassesItsDeadline_itIsClosed() throws InterruptedException {
+        try (GraknClient.Session session = client.session("transaction_deadline")) {
+            setupLotsOfPeople(session, 10);
+
+            GraknClient.Transaction tx = session.transaction().deadline(500, TimeUnit.MILLISECONDS).read();
+            assertEquals(10, tx.execute(Graql.match(var("p").isa("person")).get()).get().size());
+            Thread.sleep(1000);
+            assertFalse(tx.isOpen());
+        }
+    }
+}
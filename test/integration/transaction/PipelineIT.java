@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.exception.GraknClientException;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import graql.lang.query.GraqlInsert;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static graql.lang.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for pipelining inserts without waiting for their answers
+ */
+public class PipelineIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenPipeliningInserts_theyAreCommitted() {
+        try (GraknClient.Session session = client.session("pipelined_inserts")) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.execute(Graql.parse("define person sub entity;").asDefine());
+                GraqlInsert personInsert = Graql.parse("insert $p isa person;");
+                for (int i = 0; i < 500; i++) {
+                    tx.pipeline(personInsert);
+                }
+                tx.commit();
+            }
+
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                assertEquals(500, tx.execute(Graql.match(var("p").isa("person")).get()).get().size());
+            }
+        }
+    }
+
+    @Test
+    public void whenAPipelinedInsertFails_commitThrowsItsError() {
+        try (GraknClient.Session session = client.session("pipelined_insert_error")) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.pipeline(Graql.parse("insert $p isa not-a-type;").asInsert());
+                tx.commit();
+                fail();
+            } catch (GraknClientException e) {
+                assertTrue(e.getMessage().contains("not-a-type"));
+            }
+        }
+    }
+
+    @Test
+    public void whenCommittingAfterAPipelinedInsertFails_eachFailureIsANewException() {
+        try (GraknClient.Session session = client.session("pipelined_insert_errors")) {
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                tx.pipeline(Graql.parse("insert $p isa not-a-type;").asInsert());
+                List<GraknClientException> failures = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    try {
+                        tx.commit();
+                        fail();
+                    } catch (GraknClientException e) {
+                        failures.add(e);
+                    }
+                }
+                assertEquals(3, failures.stream().distinct().count());
+                for (GraknClientException failure : failures) {
+                    assertTrue(failure.getMessage().contains("not-a-type"));
+                    assertTrue(failure.getSuppressed().length <= 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import grakn.protocol.session.SessionProto;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.GraknClient.Transaction.Options.prefetch;
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for prefetching answer batches, which are observed by counting the follow-up batch requests
+ * a client sends on its transaction streams.
+ */
+public class PrefetchIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static GraknClient client;
+    private static GraknClient countingClient;
+    private static FollowUpCounter followUps;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+        followUps = new FollowUpCounter();
+        countingClient = new GraknClient(address).overrideChannel(
+                ManagedChannelBuilder.forTarget(address).usePlaintext().intercept(followUps).build());
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        countingClient.close();
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Before
+    public void resetCount() {
+        followUps.reset();
+    }
+
+    @Test
+    public void whenQueryingWithPrefetch_runsCorrectly() {
+        try (GraknClient.Session session = client.session("prefetch")) {
+            setupLotsOfPeople(session, 999);
+
+            try (GraknClient.Transaction tx = session.transaction().write()) {
+                assertEquals(999, tx.execute(ALL_PEOPLE, batchSize(20).prefetch(1)).get().size());
+                assertEquals(999, tx.execute(ALL_PEOPLE, batchSize(7).prefetch(4)).get().size());
+                assertEquals(999, tx.stream(ALL_PEOPLE, prefetch(2)).get().count());
+            }
+        }
+    }
+
+    @Test
+    public void whenPrefetching_followUpBatchesAreRequestedBeforeTheCurrentOneIsRead() throws InterruptedException {
+        setupPeople("prefetch_ahead");
+
+        try (GraknClient.Session session = countingClient.session("prefetch_ahead");
+             GraknClient.Transaction tx = session.transaction().read()) {
+            Iterator<ConceptMap> answers = tx.stream(ALL_PEOPLE, batchSize(10).prefetch(2)).get().iterator();
+            answers.next();
+
+            // Each batch requests the next as soon as it ends, until two are in flight ahead of the consumer
+            assertTrue(followUps.await(2, 10, TimeUnit.SECONDS));
+            Thread.sleep(500);
+            assertEquals(2, followUps.count());
+        }
+    }
+
+    @Test
+    public void whenNotPrefetching_theNextBatchIsOnlyRequestedOnceTheCurrentOneIsRead() {
+        setupPeople("prefetch_none");
+
+        try (GraknClient.Session session = countingClient.session("prefetch_none");
+             GraknClient.Transaction tx = session.transaction().read()) {
+            Iterator<ConceptMap> answers = tx.stream(ALL_PEOPLE, batchSize(10)).get().iterator();
+            for (int i = 0; i < 10; i++) {
+                answers.next();
+            }
+            assertEquals(0, followUps.count());
+
+            answers.next();
+            assertEquals(1, followUps.count());
+        }
+    }
+
+    private static void setupPeople(String keyspace) {
+        try (GraknClient.Session session = client.session(keyspace)) {
+            setupLotsOfPeople(session, 100);
+        }
+    }
+
+    /**
+     * Counts the requests for follow-up batches, those that continue a server-side iterator, sent on transaction
+     * streams through it.
+     */
+    private static class FollowUpCounter implements ClientInterceptor {
+        private final AtomicInteger count = new AtomicInteger();
+
+        void reset() {
+            count.set(0);
+        }
+
+        int count() {
+            return count.get();
+        }
+
+        boolean await(int expected, long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (count.get() < expected) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                @Override
+                public void sendMessage(ReqT message) {
+                    if (message instanceof SessionProto.Transaction.Req) {
+                        SessionProto.Transaction.Req request = (SessionProto.Transaction.Req) message;
+                        if (request.hasIterReq() && request.getIterReq().getIteratorId() != 0) {
+                            count.incrementAndGet();
+                        }
+                    }
+                    super.sendMessage(message);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.rpc.Flow;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Integration Tests for publishing query answers on demand
+ */
+public class QueryPublisherIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final String KEYSPACE = "query_publisher";
+    private static final int PEOPLE = 10;
+    private static final GraqlGet ALL_PEOPLE = Graql.parse("match $x isa person; get;").asGet();
+    private static GraknClient client;
+    private static GraknClient.Session session;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+        session = client.session(KEYSPACE);
+        try (GraknClient.Transaction tx = session.transaction().write()) {
+            tx.execute(Graql.parse("define person sub entity;").asDefine());
+            for (int i = 0; i < PEOPLE; i++) {
+                tx.execute(Graql.parse("insert $x isa person;").asInsert());
+            }
+            tx.commit();
+        }
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        session.close();
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @Test
+    public void whenAnswersAreRequested_noMoreThanTheDemandIsDelivered() throws InterruptedException {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            tx.<ConceptMap>publish(ALL_PEOPLE, batchSize(2)).subscribe(subscriber);
+
+            subscriber.subscription.request(3);
+            subscriber.awaitItems(3);
+            Thread.sleep(200);
+            assertEquals(3, subscriber.items.size());
+            assertFalse(subscriber.isTerminated());
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            subscriber.awaitTermination();
+            assertEquals(PEOPLE, subscriber.items.size());
+            assertNull(subscriber.error);
+        }
+    }
+
+    @Test
+    public void whenTheSubscriptionIsCancelled_nothingMoreIsDeliveredAndTheTransactionRemainsUsable() throws InterruptedException {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            tx.<ConceptMap>publish(ALL_PEOPLE).subscribe(subscriber);
+
+            subscriber.subscription.request(2);
+            subscriber.awaitItems(2);
+            subscriber.subscription.cancel();
+            subscriber.subscription.request(PEOPLE);
+            Thread.sleep(200);
+
+            assertEquals(2, subscriber.items.size());
+            assertFalse(subscriber.isTerminated());
+            assertEquals(PEOPLE, tx.stream(ALL_PEOPLE).get().count());
+        }
+    }
+
+    @Test
+    public void whenTheQueryFails_theErrorIsSignalled() throws InterruptedException {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            tx.<ConceptMap>publish(Graql.parse("match $x isa undefined-type; get;").asGet()).subscribe(subscriber);
+
+            subscriber.subscription.request(1);
+            subscriber.awaitTermination();
+            assertTrue(subscriber.items.isEmpty());
+            assertFalse(subscriber.completed);
+            assertTrue(subscriber.error != null);
+        }
+    }
+
+    @Test
+    public void whenANonPositiveNumberOfAnswersIsRequested_anIllegalArgumentExceptionIsSignalled() throws InterruptedException {
+        try (GraknClient.Transaction tx = session.transaction().read()) {
+            for (long n : new long[]{0, -1}) {
+                RecordingSubscriber subscriber = new RecordingSubscriber();
+                tx.<ConceptMap>publish(ALL_PEOPLE).subscribe(subscriber);
+
+                subscriber.subscription.request(n);
+                subscriber.awaitTermination();
+                assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+                subscriber.subscription.request(PEOPLE);
+                Thread.sleep(200);
+                assertTrue(subscriber.items.isEmpty());
+            }
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<ConceptMap> {
+        private final List<ConceptMap> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ConceptMap item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        boolean isTerminated() {
+            return terminated.getCount() == 0;
+        }
+
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (items.size() < count) {
+                assertTrue("Timed out waiting for " + count + " answers", System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+        }
+
+        void awaitTermination() throws InterruptedException {
+            assertTrue("Timed out waiting for the subscription to terminate", terminated.await(10, TimeUnit.SECONDS));
+        }
+    }
+}
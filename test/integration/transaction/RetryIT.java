@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.integration.transaction;
+
+import grakn.client.GraknClient;
+import grakn.client.answer.ConceptMap;
+import grakn.client.concept.ConceptId;
+import grakn.client.exception.GraknClientException;
+import grakn.client.rpc.RetryPolicy;
+import grakn.client.test.setup.GraknProperties;
+import grakn.client.test.setup.GraknSetup;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static grakn.client.GraknClient.Transaction.Options.batchSize;
+import static grakn.client.test.setup.PeopleSetup.ALL_PEOPLE;
+import static grakn.client.test.setup.PeopleSetup.setupLotsOfPeople;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Integration Tests for replaying queries after transient failures, which are injected into the transaction streams
+ * of a client by failing them with UNAVAILABLE after a given number of responses.
+ */
+public class RetryIT {
+
+    private static final String[] args = System.getProperty("sun.java.command").split(" ");
+    private static final GraknSetup.GraknType graknType = GraknSetup.GraknType.of(args[1]);
+    private static final File graknDistributionFile = new File(args[2]);
+    private static final int PEOPLE = 100;
+    private static GraknClient client;
+    private static GraknClient faultyClient;
+    private static FaultInjector faults;
+
+    @BeforeClass
+    public static void setUpClass() throws InterruptedException, IOException, TimeoutException {
+        GraknSetup.bootup(graknType, graknDistributionFile);
+        String address = System.getProperty(GraknProperties.GRAKN_ADDRESS);
+        client = new GraknClient(address);
+        faults = new FaultInjector();
+        faultyClient = new GraknClient(address).overrideChannel(
+                ManagedChannelBuilder.forTarget(address).usePlaintext().intercept(faults).build());
+    }
+
+    @AfterClass
+    public static void closeSession() throws InterruptedException, TimeoutException, IOException {
+        faultyClient.close();
+        client.close();
+        GraknSetup.shutdown(graknType);
+    }
+
+    @After
+    public void stopInjectingFaults() {
+        faults.failNextStreams(0, 0);
+    }
+
+    @Test
+    public void whenQueryingWithARetryPolicy_runsCorrectly() {
+        try (GraknClient.Session session = client.session("retry_policy")) {
+            setupLotsOfPeople(session, 999);
+
+            RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3)
+                    .backoff(10, 100, TimeUnit.MILLISECONDS).jitter(0.5);
+            try (GraknClient.Transaction tx = session.transaction().retryPolicy(retryPolicy).read()) {
+                assertEquals(999, tx.stream(ALL_PEOPLE, batchSize(10)).get().count());
+            }
+        }
+    }
+
+    @Test
+    public void whenAStreamFailsTransiently_itResumesWithoutDroppingOrRepeatingAnswers() {
+        Set<ConceptId> everyone = setupPeople("retry_resume");
+
+        try (GraknClient.Session session = faultyClient.session("retry_resume")) {
+            RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3).backoff(10, 10, TimeUnit.MILLISECONDS);
+            faults.failNextStreams(1, 25);
+            try (GraknClient.Transaction tx = session.transaction().retryPolicy(retryPolicy).read()) {
+                List<ConceptId> ids = tx.stream(ALL_PEOPLE, batchSize(10)).get()
+                        .map(answer -> answer.get("p").id()).collect(Collectors.toList());
+
+                assertEquals(1, faults.injected());
+                assertEquals(PEOPLE, ids.size());
+                assertEquals(everyone, new HashSet<>(ids));
+            }
+        }
+    }
+
+    @Test
+    public void whenWaitingForTheFirstAnswerFailsTransiently_itIsRetried() throws TimeoutException {
+        setupPeople("retry_first_answer");
+
+        try (GraknClient.Session session = faultyClient.session("retry_first_answer")) {
+            RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3).backoff(10, 10, TimeUnit.MILLISECONDS);
+            faults.failNextStreams(1, 1); // Only the response to opening the transaction gets through
+            try (GraknClient.Transaction tx = session.transaction().retryPolicy(retryPolicy).read()) {
+                assertEquals(PEOPLE, tx.stream(ALL_PEOPLE).get(10, TimeUnit.SECONDS).count());
+                assertEquals(1, faults.injected());
+            }
+        }
+    }
+
+    @Test
+    public void whenFailuresOutlastTheRetryPolicy_theLastFailureIsThrownAfterBackingOff() {
+        setupPeople("retry_give_up");
+
+        try (GraknClient.Session session = faultyClient.session("retry_give_up")) {
+            RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3).backoff(100, 100, TimeUnit.MILLISECONDS).jitter(0);
+            faults.failNextStreams(Integer.MAX_VALUE, 25);
+            try (GraknClient.Transaction tx = session.transaction().retryPolicy(retryPolicy).read()) {
+                long start = System.nanoTime();
+                try {
+                    tx.stream(ALL_PEOPLE, batchSize(10)).get().count();
+                    fail("The stream should fail once the retry policy gives up");
+                } catch (GraknClientException e) {
+                    assertTrue(e.getCause() instanceof StatusRuntimeException);
+                    assertEquals(Status.Code.UNAVAILABLE, ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+                }
+                assertEquals(retryPolicy.maxAttempts(), faults.injected());
+                assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+            }
+        }
+    }
+
+    @Test
+    public void whenTheAnswersChangeBeforeAStreamResumes_itFailsRatherThanDropOrRepeatAnswers() {
+        setupPeople("retry_changed");
+
+        try (GraknClient.Session session = faultyClient.session("retry_changed")) {
+            RetryPolicy retryPolicy = RetryPolicy.maxAttempts(3).backoff(10, 10, TimeUnit.MILLISECONDS);
+            faults.failNextStreams(1, 25);
+            try (GraknClient.Transaction tx = session.transaction().retryPolicy(retryPolicy).read()) {
+                Iterator<ConceptMap> answers = tx.stream(ALL_PEOPLE, batchSize(10)).get().iterator();
+                ConceptId returned = answers.next().get("p").id();
+
+                try (GraknClient.Session writer = client.session("retry_changed");
+                     GraknClient.Transaction write = writer.transaction().write()) {
+                    write.getConcept(returned).delete();
+                    write.commit();
+                }
+
+                try {
+                    while (answers.hasNext()) {
+                        answers.next();
+                    }
+                    fail("The stream should not resume once the answers it already returned have changed");
+                } catch (GraknClientException e) {
+                    assertEquals(GraknClientException.resumedAnswersDiffer().getMessage(), e.getMessage());
+                }
+                assertEquals(1, faults.injected());
+            }
+        }
+    }
+
+    private static Set<ConceptId> setupPeople(String keyspace) {
+        try (GraknClient.Session session = client.session(keyspace)) {
+            setupLotsOfPeople(session, PEOPLE);
+            try (GraknClient.Transaction tx = session.transaction().read()) {
+                return tx.stream(ALL_PEOPLE).get().map(answer -> answer.get("p").id()).collect(Collectors.toSet());
+            }
+        }
+    }
+
+    /**
+     * Fails the next few transaction streams opened through it with UNAVAILABLE, once each has received a given
+     * number of responses, as if the connection had dropped.
+     */
+    private static class FaultInjector implements ClientInterceptor {
+        private final AtomicInteger streamsToFail = new AtomicInteger();
+        private final AtomicInteger injected = new AtomicInteger();
+        private volatile int failAfterResponses;
+
+        void failNextStreams(int streams, int afterResponses) {
+            failAfterResponses = afterResponses;
+            injected.set(0);
+            streamsToFail.set(streams);
+        }
+
+        int injected() {
+            return injected.get();
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            ClientCall<ReqT, RespT> call = next.newCall(method, callOptions);
+            if (!method.getFullMethodName().endsWith("/transaction") || streamsToFail.getAndUpdate(n -> Math.max(n - 1, 0)) == 0) {
+                return call;
+            }
+            int failAfter = failAfterResponses;
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(call) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                        private int responses;
+                        private boolean failed;
+
+                        @Override
+                        public void onMessage(RespT message) {
+                            if (failed) {
+                                return;
+                            }
+                            if (++responses > failAfter) {
+                                failed = true;
+                                injected.incrementAndGet();
+                                delegate().onClose(Status.UNAVAILABLE.withDescription("Injected fault"), new Metadata());
+                                call.cancel("Injected fault", null);
+                                return;
+                            }
+                            super.onMessage(message);
+                        }
+
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            if (!failed) {
+                                super.onClose(status, trailers);
+                            }
+                        }
+                    }, headers);
+                }
+            };
+        }
+    }
+}
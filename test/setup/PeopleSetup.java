@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package grakn.client.test.setup;
+
+import grakn.client.GraknClient;
+import graql.lang.Graql;
+import graql.lang.query.GraqlGet;
+import graql.lang.query.GraqlInsert;
+
+import static graql.lang.Graql.var;
+
+/**
+ * The data most integration tests query: a person type, and as many persons as a test asks for.
+ */
+public class PeopleSetup {
+
+    public static final GraqlGet ALL_PEOPLE = Graql.match(var("p").isa("person")).get();
+
+    public static void definePerson(GraknClient.Session session) {
+        try (GraknClient.Transaction tx = session.transaction().write()) {
+            tx.execute(Graql.parse("define person sub entity;").asDefine());
+            tx.commit();
+        }
+    }
+
+    public static void setupLotsOfPeople(GraknClient.Session session, int numberOfPeople) {
+        try (GraknClient.Transaction tx = session.transaction().write()) {
+            tx.execute(Graql.parse("define person sub entity;").asDefine());
+            GraqlInsert personInsert = Graql.parse("insert $p isa person;");
+            for (int i = 0; i < numberOfPeople; i++) {
+                tx.execute(personInsert);
+            }
+            tx.commit();
+        }
+    }
+}